@@ -0,0 +1,108 @@
+package ru.practicum.shareit;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.service.BookingPhaseSweeper;
+
+/**
+ * Shared JMH state: boots the application (no web layer) on an in-memory H2
+ * in PostgreSQL mode and seeds it with {@code SYSTEM_RANGE} inserts.
+ *
+ * <p>Default volumes are 10k users, 100k items (10 per owner) and 1M bookings
+ * (10 per item, spread around "now"), plus one comment per two items.
+ * Override with {@code -p users=1000} for a quick run.
+ */
+@State(Scope.Benchmark)
+public class SeededDatabase {
+
+    @Param("10000")
+    public int users;
+
+    @Param("10")
+    public int itemsPerUser;
+
+    @Param("10")
+    public int bookingsPerItem;
+
+    public int items;
+    public ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void start() {
+        items = users * itemsPerUser;
+        context = configure(new SpringApplicationBuilder(ShareItApp.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties(
+                        "logging.level.root=WARN",
+                        "logging.level.org.springframework.jdbc=WARN",
+                        "logging.level.org.springframework.transaction=WARN",
+                        "logging.level.org.springframework.transaction.interceptor=WARN",
+                        "logging.level.org.springframework.orm.jpa=WARN",
+                        "logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN"))
+                .run();
+        seed(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    /** Hook for states that need a different application setup (e.g. a running web server). */
+    protected SpringApplicationBuilder configure(SpringApplicationBuilder app) {
+        return app;
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /** Owner of item {@code itemId}; seeded ids are 1..N. */
+    public long ownerOf(long itemId) {
+        return 1 + itemId % users;
+    }
+
+    private void seed(JdbcTemplate jdbc) {
+        jdbc.update("""
+                INSERT INTO users(id, name, email)
+                SELECT X, 'user' || X, 'user' || X || '@bench.local' FROM SYSTEM_RANGE(1, ?)
+                """, users);
+        jdbc.update("""
+                INSERT INTO items(id, name, description, available, owner_id)
+                SELECT X, 'item ' || X, 'description of item ' || X, TRUE, 1 + MOD(X, ?)
+                FROM SYSTEM_RANGE(1, ?)
+                """, users, items);
+        // booking k of an item starts 2k-10 days from now (past, current and future windows);
+        // the booker is never the owner of the item
+        jdbc.update("""
+                INSERT INTO bookings(id, start_ts, end_ts, item_id, owner_id, booker_id, status)
+                SELECT X + 1, DATEADD('DAY', (X / ?) * 2 - 10, CURRENT_TIMESTAMP),
+                       DATEADD('DAY', (X / ?) * 2 - 9, CURRENT_TIMESTAMP),
+                       1 + MOD(X, ?),
+                       1 + MOD(1 + MOD(X, ?), ?),
+                       1 + MOD(X + 2, ?),
+                       CASE WHEN MOD(X, 5) = 0 THEN 'WAITING' ELSE 'APPROVED' END
+                FROM SYSTEM_RANGE(0, ? - 1)
+                """, items, items, items, items, users, users, (long) items * bookingsPerItem);
+        jdbc.update("""
+                INSERT INTO comments(id, text, item_id, author_id, created)
+                SELECT X, 'great item', 1 + MOD(X, ?), 1 + MOD(X + 1, ?), CURRENT_TIMESTAMP
+                FROM SYSTEM_RANGE(1, ?)
+                """, items, users, items / 2);
+        // direct inserts bypass the counter the application keeps next to each item
+        jdbc.update("""
+                UPDATE items SET comment_count = (SELECT COUNT(*) FROM comments c WHERE c.item_id = items.id)
+                """);
+        // explicit ids above bypass the sequences; hand out new ids after the seeded ones
+        for (String table : new String[]{"users", "items", "bookings", "comments"}) {
+            Long max = jdbc.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+            jdbc.execute("ALTER SEQUENCE " + table + "_seq RESTART WITH " + (max + 1));
+        }
+        // seeded rows start as FUTURE; put them in their phase as the scheduled sweep would
+        bean(BookingPhaseSweeper.class).sweep();
+    }
+}
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.booking;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.SeededDatabase;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.service.BookingService;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * POST /bookings on the service level against a seeded H2: validation, item lock,
+ * overlap check and insert. Every call books a fresh hour far in the future,
+ * so no call is rejected as an overlap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class BookingCreateBenchmark {
+
+    private static final LocalDateTime FAR_FUTURE = LocalDateTime.of(2100, 1, 1, 0, 0);
+
+    private final AtomicLong slot = new AtomicLong();
+
+    @Benchmark
+    public BookingResponse create(SeededDatabase db) {
+        long itemId = 1 + ThreadLocalRandom.current().nextInt(db.items);
+        long bookerId = 1 + db.ownerOf(itemId) % db.users;
+        LocalDateTime start = FAR_FUTURE.plusHours(slot.getAndIncrement());
+        return db.bean(BookingService.class)
+                .create(bookerId, new BookingCreateDto(itemId, start, start.plusHours(1)));
+    }
+}
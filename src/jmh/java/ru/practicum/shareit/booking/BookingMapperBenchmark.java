@@ -0,0 +1,42 @@
+package ru.practicum.shareit.booking;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/** Entity to DTO mapping of a single booking (listing endpoints map up to a page of these per request). */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class BookingMapperBenchmark {
+
+    private Booking booking;
+
+    @Setup
+    public void setUp() {
+        Instant start = Instant.parse("2030-01-01T10:00:00Z");
+        booking = Booking.builder()
+                .id(1L)
+                .start(start)
+                .end(start.plusSeconds(7200))
+                .status(BookingStatus.APPROVED)
+                .booker(User.builder().id(2L).name("Booker").email("b@ex.com").build())
+                .item(Item.builder().id(3L).name("Drill").description("600W").available(true).build())
+                .build();
+    }
+
+    @Benchmark
+    public BookingResponse toResponse() {
+        return BookingMapper.toResponse(booking);
+    }
+}
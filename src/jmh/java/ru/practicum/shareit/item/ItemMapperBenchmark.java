@@ -0,0 +1,63 @@
+package ru.practicum.shareit.item;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.dto.ItemDetailsResponse;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Item details mapping with last/next bookings and a varying number of comments. */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class ItemMapperBenchmark {
+
+    @Param({"0", "10", "100"})
+    public int comments;
+
+    private final ItemMapper mapper = new ItemMapper();
+    private Item item;
+    private Booking last;
+    private Booking next;
+    private List<Comment> commentList;
+
+    @Setup
+    public void setUp() {
+        Instant now = Instant.parse("2030-01-01T10:00:00Z");
+        User owner = User.builder().id(1L).name("Owner").email("o@ex.com").build();
+        User booker = User.builder().id(2L).name("Booker").email("b@ex.com").build();
+        item = Item.builder().id(3L).name("Drill").description("600W").available(true).owner(owner).build();
+        last = booking(10L, item, booker, now.minusSeconds(86_400));
+        next = booking(11L, item, booker, now.plusSeconds(86_400));
+        commentList = new ArrayList<>(comments);
+        for (int i = 0; i < comments; i++) {
+            commentList.add(Comment.builder()
+                    .id((long) i).text("comment " + i).item(item).author(booker)
+                    .created(now.minusSeconds(i)).build());
+        }
+    }
+
+    @Benchmark
+    public ItemDetailsResponse toDetails() {
+        return mapper.toDetails(item, last, next, commentList, comments);
+    }
+
+    private static Booking booking(Long id, Item item, User booker, Instant start) {
+        return Booking.builder()
+                .id(id).item(item).booker(booker)
+                .start(start).end(start.plusSeconds(3600))
+                .status(BookingStatus.APPROVED)
+                .build();
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.item;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.SeededDatabase;
+import ru.practicum.shareit.item.dto.ItemDetailsResponse;
+import ru.practicum.shareit.item.service.ItemService;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/** GET /items on the service level: owner items with last/next bookings and comments from a seeded H2. */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ListOwnerItemsBenchmark {
+
+    @Benchmark
+    public List<ItemDetailsResponse> listOwnerItems(SeededDatabase db) {
+        long ownerId = 1 + ThreadLocalRandom.current().nextInt(db.users);
+        return db.bean(ItemService.class).listOwnerItems(ownerId, 0, 20);
+    }
+}
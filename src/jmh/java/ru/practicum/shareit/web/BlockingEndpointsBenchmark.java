@@ -0,0 +1,47 @@
+package ru.practicum.shareit.web;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end HTTP throughput of blocking endpoints with many concurrent clients:
+ * Tomcat platform threads vs the {@code vthreads} profile (see {@link SeededServer}).
+ * Run with a small data set, e.g. {@code -p users=1000}; the interesting number is
+ * ops/s per {@code threads} value at the same {@code dbLatencyMs} and {@code poolSize}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Threads(400)
+public class BlockingEndpointsBenchmark {
+
+    @Benchmark
+    public int ownerBookings(SeededServer server) throws IOException, InterruptedException {
+        return send(server, "/bookings/owner?state=ALL&size=20");
+    }
+
+    @Benchmark
+    public int ownerItems(SeededServer server) throws IOException, InterruptedException {
+        return send(server, "/items?size=20");
+    }
+
+    private static int send(SeededServer server, String path) throws IOException, InterruptedException {
+        long ownerId = 1 + ThreadLocalRandom.current().nextInt(server.users);
+        HttpRequest request = HttpRequest.newBuilder(server.baseUri.resolve(path))
+                .header("X-Sharer-User-Id", Long.toString(ownerId))
+                .GET()
+                .build();
+        HttpResponse<Void> response = server.http.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(path + " -> " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+}
@@ -0,0 +1,119 @@
+package ru.practicum.shareit.web;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import ru.practicum.shareit.SeededDatabase;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * {@link SeededDatabase} served over HTTP on a random port, either on Tomcat's platform
+ * thread pool or with the {@code vthreads} profile. Both modes get the same connection pool.
+ *
+ * <p>In-memory H2 answers in microseconds, so every executed statement is delayed by
+ * {@code dbLatencyMs} to stand in for the network round trip to a real database;
+ * that wait is what the request threads block on.
+ */
+@State(Scope.Benchmark)
+public class SeededServer extends SeededDatabase {
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Param("2")
+    public int dbLatencyMs;
+
+    @Param("50")
+    public int poolSize;
+
+    public HttpClient http;
+    public URI baseUri;
+
+    @Override
+    protected SpringApplicationBuilder configure(SpringApplicationBuilder app) {
+        if ("virtual".equals(threads)) {
+            app.profiles("vthreads");
+        }
+        return app.web(WebApplicationType.SERVLET)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.hikari.maximum-pool-size=" + poolSize,
+                        "shareit.item.details-cache.enabled=false")
+                .initializers(ctx -> ctx.getBeanFactory().addBeanPostProcessor(new SlowStatements(dbLatencyMs)));
+    }
+
+    @Setup(Level.Trial)
+    public void connect() {
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        baseUri = URI.create("http://localhost:" + port);
+        http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void disconnect() {
+        http.close();
+    }
+
+    /** Wraps the DataSource so that every statement execution sleeps for the given latency first. */
+    private record SlowStatements(int latencyMs) implements BeanPostProcessor {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (latencyMs <= 0 || !(bean instanceof DataSource dataSource)) {
+                return bean;
+            }
+            return proxy(DataSource.class, dataSource, (target, method, args) -> {
+                Object result = invoke(target, method, args);
+                return result instanceof Connection c ? proxy(Connection.class, c, this::statements) : result;
+            });
+        }
+
+        private Object statements(Object target, Method method, Object[] args) throws Throwable {
+            Object result = invoke(target, method, args);
+            if (!(result instanceof Statement statement)) {
+                return result;
+            }
+            Class<?> type = statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+            return proxy(type, statement, (t, m, a) -> {
+                if (m.getName().startsWith("execute")) {
+                    Thread.sleep(latencyMs);
+                }
+                return invoke(t, m, a);
+            });
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private static Object proxy(Class<?> type, Object target, TargetHandler handler) {
+            InvocationHandler h = (p, m, a) -> handler.handle(target, m, a);
+            return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, h);
+        }
+
+        @FunctionalInterface
+        private interface TargetHandler {
+            Object handle(Object target, Method method, Object[] args) throws Throwable;
+        }
+    }
+}
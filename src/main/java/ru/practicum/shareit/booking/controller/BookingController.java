@@ -1,19 +1,37 @@
 package ru.practicum.shareit.booking.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingBatchMode;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResult;
+import ru.practicum.shareit.booking.dto.BookingExportFormat;
 import ru.practicum.shareit.booking.dto.BookingResponse;
 import ru.practicum.shareit.booking.dto.BookingStateParam;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.common.exception.BadRequestException;
 import ru.practicum.shareit.common.web.CurrentUserId;
+import ru.practicum.shareit.common.web.CursorResponses;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 /**
@@ -25,7 +43,12 @@ import java.util.List;
 @RequiredArgsConstructor
 public class BookingController {
 
+    static final int MAX_BATCH = 500;
+    static final String CSV_HEADER = "id,start,end,status,booker_id,item_id,item_name\n";
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+
     private final BookingService service;
+    private final ObjectMapper objectMapper;
 
     /**
      * POST /bookings — create a booking request (initial status WAITING).
@@ -37,6 +60,19 @@ public class BookingController {
         return service.create(userId, dto);
     }
 
+    /**
+     * POST /bookings/batch?mode={ALL_OR_NOTHING|PARTIAL} — create up to {@value #MAX_BATCH} bookings
+     * in one transaction. Returns one result per entry in request order; with ALL_OR_NOTHING (default)
+     * the first rejected entry fails the whole request.
+     */
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    public List<BookingBatchResult> createBatch(@CurrentUserId Long userId,
+                                                @RequestParam(name = "mode", defaultValue = "ALL_OR_NOTHING") String modeParam,
+                                                @RequestBody @NotEmpty @Size(max = MAX_BATCH) List<@Valid @NotNull BookingCreateDto> dtos) {
+        return service.createBatch(userId, dtos, parseMode(modeParam));
+    }
+
     /**
      * PATCH /bookings/{id}?approved={true|false} —
      * item owner approves or rejects a booking.
@@ -48,6 +84,17 @@ public class BookingController {
         return service.approve(ownerId, bookingId, approved);
     }
 
+    /**
+     * PATCH /bookings/bulk?approved={true|false} — item owner approves or rejects up to
+     * {@value #MAX_BATCH} bookings in one transaction; returns one result per distinct id.
+     */
+    @PatchMapping("/bulk")
+    public List<BookingDecisionResult> approveBulk(@CurrentUserId Long ownerId,
+                                                   @RequestParam boolean approved,
+                                                   @RequestBody @NotEmpty @Size(max = MAX_BATCH) List<@NotNull Long> bookingIds) {
+        return service.approveBulk(ownerId, bookingIds, approved);
+    }
+
     /**
      * GET /bookings/{id} — fetch booking by id
      * (accessible to booker or item owner).
@@ -60,26 +107,98 @@ public class BookingController {
 
     /**
      * GET /bookings?state=... — list current user's bookings.
+     * With {@code cursor} (empty for the first page) switches to keyset paging:
+     * {@code from} is ignored and the next page cursor is returned in {@code X-Next-Cursor}.
      */
     @GetMapping
-    public List<BookingResponse> listUser(@CurrentUserId Long userId,
-                                          @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
-                                          @RequestParam(name = "from",  defaultValue = "0")  @PositiveOrZero int from,
-                                          @RequestParam(name = "size",  defaultValue = "20") @Positive      int size) {
+    public ResponseEntity<List<BookingResponse>> listUser(@CurrentUserId Long userId,
+                                                          @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
+                                                          @RequestParam(name = "from",  defaultValue = "0")  @PositiveOrZero int from,
+                                                          @RequestParam(name = "size",  defaultValue = "20") @Positive      int size,
+                                                          @RequestParam(name = "cursor", required = false)  String cursor) {
         BookingStateParam state = parseState(stateParam);
-        return service.listUser(userId, state, from, size);
+        if (cursor != null) {
+            return CursorResponses.ok(service.listUserByCursor(userId, state, cursor, size));
+        }
+        return ResponseEntity.ok(service.listUser(userId, state, from, size));
     }
 
     /**
      * GET /bookings/owner?state=... — list bookings for items of current owner.
+     * Supports the same {@code cursor} mode as {@link #listUser}.
      */
     @GetMapping("/owner")
-    public List<BookingResponse> listOwner(@CurrentUserId Long ownerId,
-                                           @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
-                                           @RequestParam(name = "from",  defaultValue = "0")  @PositiveOrZero int from,
-                                           @RequestParam(name = "size",  defaultValue = "20") @Positive      int size) {
+    public ResponseEntity<List<BookingResponse>> listOwner(@CurrentUserId Long ownerId,
+                                                           @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
+                                                           @RequestParam(name = "from",  defaultValue = "0")  @PositiveOrZero int from,
+                                                           @RequestParam(name = "size",  defaultValue = "20") @Positive      int size,
+                                                           @RequestParam(name = "cursor", required = false)  String cursor) {
+        BookingStateParam state = parseState(stateParam);
+        if (cursor != null) {
+            return CursorResponses.ok(service.listOwnerByCursor(ownerId, state, cursor, size));
+        }
+        return ResponseEntity.ok(service.listOwner(ownerId, state, from, size));
+    }
+
+    /**
+     * GET /bookings/owner/export?state=...&format={ndjson|csv} — the owner's whole booking history,
+     * in {@link #listOwner} order, as NDJSON (one booking per line) or CSV.
+     * @implNote Rows are streamed from a DB cursor straight to the response; memory use does not grow with the history.
+     */
+    @GetMapping("/owner/export")
+    public ResponseEntity<StreamingResponseBody> exportOwner(@CurrentUserId Long ownerId,
+                                                             @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
+                                                             @RequestParam(name = "format", defaultValue = "NDJSON") String formatParam) {
         BookingStateParam state = parseState(stateParam);
-        return service.listOwner(ownerId, state, from, size);
+        BookingExportFormat format = parseFormat(formatParam);
+        service.requireUser(ownerId);
+        StreamingResponseBody body = out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            if (format == BookingExportFormat.CSV) {
+                writer.write(CSV_HEADER);
+            }
+            service.exportOwner(ownerId, state, booking -> {
+                try {
+                    writer.write(format == BookingExportFormat.CSV
+                            ? csvRow(booking)
+                            : objectMapper.writeValueAsString(booking) + '\n');
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+            writer.flush();
+        };
+        MediaType type = format == BookingExportFormat.CSV ? TEXT_CSV : MediaType.APPLICATION_NDJSON;
+        return ResponseEntity.ok().contentType(type).body(body);
+    }
+
+    private static String csvRow(BookingResponse b) {
+        return b.id() + "," + b.start() + "," + b.end() + "," + b.status() + ","
+                + b.booker().id() + "," + b.item().id() + "," + csvField(b.item().name()) + "\n";
+    }
+
+    /** RFC 4180: quote fields with separators, quotes or line breaks; double the quotes. */
+    private static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static BookingExportFormat parseFormat(String raw) {
+        try {
+            return BookingExportFormat.from(raw);
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Unknown format: " + raw);
+        }
+    }
+
+    private static BookingBatchMode parseMode(String raw) {
+        try {
+            return BookingBatchMode.from(raw);
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Unknown mode: " + raw);
+        }
     }
 
     private static BookingStateParam parseState(String raw) {
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.booking.dto;
+
+/** Allowed values for the "mode" query parameter of {@code POST /bookings/batch}. */
+public enum BookingBatchMode {
+    /** Any rejected entry fails the whole batch; nothing is stored. */
+    ALL_OR_NOTHING,
+    /** Valid entries are stored, rejected ones are reported with their error. */
+    PARTIAL;
+
+    public static BookingBatchMode from(String value) {
+        try {
+            return value == null ? ALL_OR_NOTHING : BookingBatchMode.valueOf(value.toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Unknown mode: " + value);
+        }
+    }
+}
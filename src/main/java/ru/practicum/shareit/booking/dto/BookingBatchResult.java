@@ -0,0 +1,21 @@
+package ru.practicum.shareit.booking.dto;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Outcome of one entry of {@code POST /bookings/batch}, in request order.
+ * Exactly one of {@code booking} and {@code error} is set.
+ */
+public record BookingBatchResult(
+        int index,
+        @Nullable BookingResponse booking,
+        @Nullable String error
+) {
+    public static BookingBatchResult created(int index, BookingResponse booking) {
+        return new BookingBatchResult(index, booking, null);
+    }
+
+    public static BookingBatchResult rejected(int index, String error) {
+        return new BookingBatchResult(index, null, error);
+    }
+}
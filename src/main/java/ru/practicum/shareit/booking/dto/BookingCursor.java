@@ -0,0 +1,27 @@
+package ru.practicum.shareit.booking.dto;
+
+import ru.practicum.shareit.common.exception.BadRequestException;
+import ru.practicum.shareit.common.paging.CursorCodec;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Keyset position in booking listings ordered by (start desc, id desc):
+ * the next page starts strictly after this (start, id) pair.
+ */
+public record BookingCursor(Instant start, Long id) {
+
+    public String encode() {
+        return CursorCodec.encode(start, id);
+    }
+
+    public static BookingCursor decode(String cursor) {
+        String[] parts = CursorCodec.decode(cursor, 2);
+        try {
+            return new BookingCursor(Instant.parse(parts[0]), Long.parseLong(parts[1]));
+        } catch (DateTimeParseException | NumberFormatException ex) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.booking.dto;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Outcome for one id of {@code PATCH /bookings/bulk}, in request order.
+ * {@code status} is the new status when the decision was applied, otherwise {@code error} is set.
+ */
+public record BookingDecisionResult(
+        Long id,
+        @Nullable String status,
+        @Nullable String error
+) {
+    public static BookingDecisionResult applied(Long id, String status) {
+        return new BookingDecisionResult(id, status, null);
+    }
+
+    public static BookingDecisionResult rejected(Long id, String error) {
+        return new BookingDecisionResult(id, null, error);
+    }
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.booking.dto;
+
+/** Allowed values for the "format" query parameter of {@code GET /bookings/owner/export}. */
+public enum BookingExportFormat {
+    /** One JSON booking (as in listings) per line. */
+    NDJSON,
+    /** Header row, then id,start,end,status,booker_id,item_id,item_name per booking. */
+    CSV;
+
+    public static BookingExportFormat from(String value) {
+        try {
+            return value == null ? NDJSON : BookingExportFormat.valueOf(value.toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Unknown format: " + value);
+        }
+    }
+}
@@ -5,6 +5,7 @@ import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingResponse;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repo.BookingView;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
@@ -56,4 +57,17 @@ public final class BookingMapper {
                 item
         );
     }
-}
\ No newline at end of file
+
+    /** Convert a listing projection to response; same zone conversion as for the entity. */
+    public static BookingResponse toResponse(BookingView v) {
+        var zone = ZoneId.systemDefault();
+        return new BookingResponse(
+                v.id(),
+                v.start() == null ? null : LocalDateTime.ofInstant(v.start(), zone),
+                v.end() == null ? null : LocalDateTime.ofInstant(v.end(), zone),
+                v.status() == null ? null : v.status().name(),
+                v.bookerId() == null ? null : new BookingResponse.Booker(v.bookerId()),
+                v.itemId() == null ? null : new BookingResponse.ItemShort(v.itemId(), v.itemName())
+        );
+    }
+}
@@ -22,7 +22,8 @@ import java.time.Instant;
 public class Booking {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     @EqualsAndHashCode.Include
     private Long id;
 
@@ -40,6 +41,13 @@ public class Booking {
     @ToString.Exclude
     private Item item;
 
+    /**
+     * Owner of the booked item (maps to owner_id), copied from the item on insert so owner listings
+     * filter bookings without joining items. The (item_id, owner_id) foreign key cascades ownership changes.
+     */
+    @Column(name = "owner_id", nullable = false)
+    private Long ownerId;
+
     /** The user who made the booking. */
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "booker_id", nullable = false)
@@ -50,4 +58,19 @@ public class Booking {
     @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false)
     private BookingStatus status;
+
+    /** Phase as of the last sweep (or insert); see {@link BookingPhase}. */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "phase", nullable = false)
+    private BookingPhase phase;
+
+    @PrePersist
+    void fillDerivedColumns() {
+        if (ownerId == null && item != null) {
+            ownerId = item.getOwner().getId();
+        }
+        if (phase == null && start != null && end != null) {
+            phase = BookingPhase.of(start, end, Instant.now());
+        }
+    }
 }
\ No newline at end of file
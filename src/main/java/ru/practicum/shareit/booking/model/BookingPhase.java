@@ -0,0 +1,23 @@
+package ru.practicum.shareit.booking.model;
+
+import java.time.Instant;
+
+/**
+ * Where a booking is in time, stored with the booking and advanced by {@code BookingPhaseSweeper}.
+ *
+ * <p>Phases only move forward (FUTURE, CURRENT, PAST) and the stored phase may lag behind
+ * the clock until the next sweep, but is never ahead of it. Listings therefore pick the
+ * phases a booking can be stored with and re-check the exact time bounds.
+ */
+public enum BookingPhase {
+    FUTURE,
+    CURRENT,
+    PAST;
+
+    public static BookingPhase of(Instant start, Instant end, Instant now) {
+        if (start.isAfter(now)) {
+            return FUTURE;
+        }
+        return end.isAfter(now) ? CURRENT : PAST;
+    }
+}
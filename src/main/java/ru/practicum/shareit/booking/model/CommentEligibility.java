@@ -0,0 +1,47 @@
+package ru.practicum.shareit.booking.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Earliest moment a booker may comment on an item: the end of their first APPROVED booking of it
+ * (see {@code CommentEligibilityStore}).
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@ToString
+@Entity
+@Table(name = "comment_eligibility")
+@IdClass(CommentEligibility.Key.class)
+public class CommentEligibility {
+
+    @Id
+    @Column(name = "booker_id")
+    @EqualsAndHashCode.Include
+    private Long bookerId;
+
+    @Id
+    @Column(name = "item_id")
+    @EqualsAndHashCode.Include
+    private Long itemId;
+
+    @Column(name = "eligible_from", nullable = false)
+    private Instant eligibleFrom;
+
+    /** Primary key: (booker, item). */
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private Long bookerId;
+        private Long itemId;
+    }
+}
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.booking.repo;
+
+import java.time.Instant;
+
+/**
+ * Read-only projection of the last or next booking of an item
+ * (see {@link BookingRepository#findLastAndNextForItems}).
+ */
+public interface BookingEdgeView {
+
+    Long getItemId();
+
+    /** {@code true} for the last booking (started before "now"), {@code false} for the next one. */
+    boolean isLast();
+
+    Long getId();
+
+    Long getBookerId();
+
+    Instant getStart();
+
+    Instant getEnd();
+}
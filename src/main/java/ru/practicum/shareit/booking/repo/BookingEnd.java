@@ -0,0 +1,6 @@
+package ru.practicum.shareit.booking.repo;
+
+import java.time.Instant;
+
+/** Earliest booking end of one booker on one item (see {@link BookingRepository#findEarliestEnds}). */
+public record BookingEnd(Long bookerId, Long itemId, Instant end) {}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.booking.repo;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingStateParam;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Booking listings ordered by (start desc, id desc), returned as {@link BookingView} projections.
+ * {@code pageBy*} serve OFFSET paging; {@code seekBy*} are keyset (seek) listings where every
+ * page is an index range scan starting right after the cursor. {@code streamBy*} read a whole
+ * listing over a forward-only cursor (consume inside a transaction and close the stream).
+ */
+public interface BookingListingRepository {
+
+    List<BookingView> pageByBooker(Long bookerId, BookingStateParam state, Instant now, Pageable page);
+
+    List<BookingView> pageByOwner(Long ownerId, BookingStateParam state, Instant now, Pageable page);
+
+    List<BookingView> seekByBooker(Long bookerId, BookingStateParam state, Instant now,
+                                   @Nullable BookingCursor after, int limit);
+
+    List<BookingView> seekByOwner(Long ownerId, BookingStateParam state, Instant now,
+                                  @Nullable BookingCursor after, int limit);
+
+    Stream<BookingView> streamByOwner(Long ownerId, BookingStateParam state, Instant now);
+}
@@ -0,0 +1,115 @@
+package ru.practicum.shareit.booking.repo;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingStateParam;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * JPQL implementation of {@link BookingListingRepository}; the query differs
+ * only in the role predicate, the state predicate and the optional cursor.
+ * Rows are projected straight into {@link BookingView}: no entities enter the persistence context.
+ */
+class BookingListingRepositoryImpl implements BookingListingRepository {
+
+    private static final String BOOKER = "b.booker.id = :userId";
+    private static final String OWNER = "b.ownerId = :userId";
+
+    // The stored phase never runs ahead of the clock: FUTURE rows include the not yet swept
+    // started ones, so each time filter reads the (user, phase) ranges it can be in, then checks the bounds.
+    private static final String FUTURE = " and b.phase = ru.practicum.shareit.booking.model.BookingPhase.FUTURE"
+            + " and b.start > :now";
+    private static final String CURRENT = " and b.phase in (ru.practicum.shareit.booking.model.BookingPhase.FUTURE,"
+            + " ru.practicum.shareit.booking.model.BookingPhase.CURRENT)"
+            + " and b.start < :now and b.end > :now";
+    private static final String PAST = " and b.end < :now"
+            + " and (b.phase = ru.practicum.shareit.booking.model.BookingPhase.PAST"
+            + " or (b.phase in (ru.practicum.shareit.booking.model.BookingPhase.FUTURE,"
+            + " ru.practicum.shareit.booking.model.BookingPhase.CURRENT) and b.start < :now))";
+
+    /** Rows per round trip of an export cursor; projections are not kept in the persistence context. */
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public List<BookingView> pageByBooker(Long bookerId, BookingStateParam state, Instant now, Pageable page) {
+        return query(BOOKER, bookerId, state, now, null)
+                .setFirstResult((int) page.getOffset())
+                .setMaxResults(page.getPageSize())
+                .getResultList();
+    }
+
+    @Override
+    public List<BookingView> pageByOwner(Long ownerId, BookingStateParam state, Instant now, Pageable page) {
+        return query(OWNER, ownerId, state, now, null)
+                .setFirstResult((int) page.getOffset())
+                .setMaxResults(page.getPageSize())
+                .getResultList();
+    }
+
+    @Override
+    public List<BookingView> seekByBooker(Long bookerId, BookingStateParam state, Instant now,
+                                          @Nullable BookingCursor after, int limit) {
+        return query(BOOKER, bookerId, state, now, after).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public List<BookingView> seekByOwner(Long ownerId, BookingStateParam state, Instant now,
+                                         @Nullable BookingCursor after, int limit) {
+        return query(OWNER, ownerId, state, now, after).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public Stream<BookingView> streamByOwner(Long ownerId, BookingStateParam state, Instant now) {
+        return query(OWNER, ownerId, state, now, null)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .getResultStream();
+    }
+
+    private TypedQuery<BookingView> query(String rolePredicate, Long userId, BookingStateParam state, Instant now,
+                                          @Nullable BookingCursor after) {
+        StringBuilder jpql = new StringBuilder("""
+                select new ru.practicum.shareit.booking.repo.BookingView(
+                    b.id, b.start, b.end, b.status, b.booker.id, i.id, i.name)
+                from Booking b
+                join b.item i
+                where\s""").append(rolePredicate);
+
+        switch (state) {
+            case ALL -> { }
+            case CURRENT -> jpql.append(CURRENT);
+            case PAST -> jpql.append(PAST);
+            case FUTURE -> jpql.append(FUTURE);
+            case WAITING, REJECTED -> jpql.append(" and b.status = :status");
+        }
+        if (after != null) {
+            jpql.append(" and (b.start < :cursorStart or (b.start = :cursorStart and b.id < :cursorId))");
+        }
+        jpql.append(" order by b.start desc, b.id desc");
+
+        TypedQuery<BookingView> query = em.createQuery(jpql.toString(), BookingView.class)
+                .setParameter("userId", userId);
+        switch (state) {
+            case CURRENT, PAST, FUTURE -> query.setParameter("now", now);
+            case WAITING -> query.setParameter("status", BookingStatus.WAITING);
+            case REJECTED -> query.setParameter("status", BookingStatus.REJECTED);
+            case ALL -> { }
+        }
+        if (after != null) {
+            query.setParameter("cursorStart", after.start())
+                    .setParameter("cursorId", after.id());
+        }
+        return query;
+    }
+}
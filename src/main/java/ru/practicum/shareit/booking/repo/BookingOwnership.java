@@ -0,0 +1,6 @@
+package ru.practicum.shareit.booking.repo;
+
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+/** Booking id with its item, item owner and status (see {@link BookingRepository#findOwnership}). */
+public record BookingOwnership(Long id, Long itemId, Long ownerId, BookingStatus status) {}
@@ -1,7 +1,7 @@
 package ru.practicum.shareit.booking.repo;
 
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.booking.model.Booking;
@@ -18,56 +18,30 @@ import java.util.Optional;
  * Prefer derived query methods; keep JPQL only for complex cases (overlap, batch fetch).
  */
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingListingRepository {
 
-    // Booker listings
-    List<Booking> findByBooker_IdOrderByStartDesc(Long bookerId, Pageable pageable);
-
-    List<Booking> findByBooker_IdAndStartBeforeAndEndAfterOrderByStartDesc(
-            Long bookerId, Instant now1, Instant now2, Pageable pageable);
-
-    List<Booking> findByBooker_IdAndEndBeforeOrderByStartDesc(
-            Long bookerId, Instant before, Pageable pageable);
-
-    List<Booking> findByBooker_IdAndStartAfterOrderByStartDesc(
-            Long bookerId, Instant after, Pageable pageable);
-
-    List<Booking> findByBooker_IdAndStatusOrderByStartDesc(
-            Long bookerId, BookingStatus status, Pageable pageable);
-
-    // Owner listings
-    List<Booking> findByItem_Owner_IdOrderByStartDesc(Long ownerId, Pageable pageable);
-
-    List<Booking> findByItem_Owner_IdAndStartBeforeAndEndAfterOrderByStartDesc(
-            Long ownerId, Instant now1, Instant now2, Pageable pageable);
-
-    List<Booking> findByItem_Owner_IdAndEndBeforeOrderByStartDesc(
-            Long ownerId, Instant before, Pageable pageable);
-
-    List<Booking> findByItem_Owner_IdAndStartAfterOrderByStartDesc(
-            Long ownerId, Instant after, Pageable pageable);
-
-    List<Booking> findByItem_Owner_IdAndStatusOrderByStartDesc(
-            Long ownerId, BookingStatus status, Pageable pageable);
+    // Listings: see BookingListingRepository (projections, OFFSET and keyset paging)
 
     // Comment eligibility
-    boolean existsByBooker_IdAndItem_IdAndEndBeforeAndStatus(
-            Long bookerId, Long itemId, Instant before, BookingStatus status);
-
-    Optional<Booking> findTopByBooker_IdAndItem_IdAndStatusOrderByEndDesc(
-            Long bookerId, Long itemId, BookingStatus status);
+    /** End of the booker's first APPROVED booking of the item; fills CommentEligibilityStore on a miss. */
+    @Query("""
+        select min(b.end)
+        from Booking b
+        where b.booker.id = :bookerId
+          and b.item.id   = :itemId
+          and b.status    = ru.practicum.shareit.booking.model.BookingStatus.APPROVED
+        """)
+    Optional<Instant> findEarliestApprovedEnd(@Param("bookerId") Long bookerId,
+                                              @Param("itemId") Long itemId);
 
+    /** Earliest end per (booker, item) among the given bookings; recorded in CommentEligibilityStore on approval. */
     @Query("""
-   select (count(b) > 0)
-   from Booking b
-   where b.booker.id = :bookerId
-     and b.item.id   = :itemId
-     and b.status    = ru.practicum.shareit.booking.model.BookingStatus.APPROVED
-     and b.end      <= :moment
-   """)
-    boolean hasFinishedApprovedBooking(@Param("bookerId") Long bookerId,
-                                       @Param("itemId")   Long itemId,
-                                       @Param("moment")   Instant moment);
+        select new ru.practicum.shareit.booking.repo.BookingEnd(b.booker.id, b.item.id, min(b.end))
+        from Booking b
+        where b.id in :ids
+        group by b.booker.id, b.item.id
+        """)
+    List<BookingEnd> findEarliestEnds(@Param("ids") Collection<Long> ids);
 
     // Last/Next for item
     Optional<Booking> findTopByItem_IdAndStatusAndStartBeforeOrderByStartDesc(
@@ -76,28 +50,111 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     Optional<Booking> findTopByItem_IdAndStatusAndStartAfterOrderByStartAsc(
             Long itemId, BookingStatus status, Instant after);
 
-    // Batch last/next for multiple items
+    /**
+     * Batch last/next for multiple items: per item at most one APPROVED booking that started
+     * before {@code now} (the latest) and one that starts after it (the earliest).
+     * Ranked with {@code row_number()} in the database, so only the winners are transferred.
+     */
+    @Query(value = """
+        select r.item_id  as "itemId",
+               r.is_last  as "last",
+               r.id       as "id",
+               r.booker_id as "bookerId",
+               r.start_ts as "start",
+               r.end_ts   as "end"
+        from (
+            select b.item_id, b.id, b.booker_id, b.start_ts, b.end_ts,
+                   (b.start_ts < :now) as is_last,
+                   row_number() over (
+                       partition by b.item_id, (b.start_ts < :now)
+                       order by case when b.start_ts < :now then b.start_ts end desc,
+                                case when b.start_ts > :now then b.start_ts end asc
+                   ) as rn
+            from bookings b
+            where b.item_id in (:itemIds)
+              and b.status = :status
+              and b.start_ts <> :now
+        ) r
+        where r.rn = 1
+        """, nativeQuery = true)
+    List<BookingEdgeView> findLastAndNextForItems(@Param("itemIds") Collection<Long> itemIds,
+                                                  @Param("status") String status,
+                                                  @Param("now") Instant now);
+
+    // Items the user holds active bookings of (their timelines go stale when the user is deleted)
     @Query("""
-        select b from Booking b
-        where b.item.id in :itemIds
-          and b.status = :status
-          and b.start < :now
-        order by b.start desc
+        select distinct b.item.id
+        from Booking b
+        where b.booker.id = :bookerId
+          and b.status in :statuses
         """)
-    List<Booking> findAllLastForItems(@Param("itemIds") Collection<Long> itemIds,
-                                      @Param("status") BookingStatus status,
-                                      @Param("now") Instant now);
+    List<Long> findItemIdsBookedBy(@Param("bookerId") Long bookerId,
+                                   @Param("statuses") Collection<BookingStatus> statuses);
 
+    // Active windows of one item not yet ended (warms the in-memory overlap index)
     @Query("""
-        select b from Booking b
-        where b.item.id in :itemIds
-          and b.status = :status
-          and b.start > :now
-        order by b.start asc
+        select new ru.practicum.shareit.booking.repo.BookingSlot(b.id, b.start, b.end)
+        from Booking b
+        where b.item.id = :itemId
+          and b.status in :statuses
+          and b.end > :now
+        """)
+    List<BookingSlot> findSlotsEndingAfter(@Param("itemId") Long itemId,
+                                           @Param("statuses") Collection<BookingStatus> statuses,
+                                           @Param("now") Instant now);
+
+    // Bulk approve/reject: ownership check and status change for many bookings at once
+    @Query("""
+        select new ru.practicum.shareit.booking.repo.BookingOwnership(b.id, b.item.id, b.ownerId, b.status)
+        from Booking b
+        where b.id in :ids
+        """)
+    List<BookingOwnership> findOwnership(@Param("ids") Collection<Long> ids);
+
+    /** Moves WAITING bookings to {@code status}; returns the number of rows changed. */
+    @Modifying
+    @Query("""
+        update Booking b
+        set b.status = :status
+        where b.id in :ids
+          and b.status = ru.practicum.shareit.booking.model.BookingStatus.WAITING
+        """)
+    int decideWaiting(@Param("ids") Collection<Long> ids, @Param("status") BookingStatus status);
+
+    /** FUTURE bookings that have started move to CURRENT; returns the number of rows changed. */
+    @Modifying
+    @Query("""
+        update Booking b
+        set b.phase = ru.practicum.shareit.booking.model.BookingPhase.CURRENT
+        where b.phase = ru.practicum.shareit.booking.model.BookingPhase.FUTURE
+          and b.start <= :now
+        """)
+    int markStarted(@Param("now") Instant now);
+
+    /** Not yet PAST bookings that have ended move to PAST; returns the number of rows changed. */
+    @Modifying
+    @Query("""
+        update Booking b
+        set b.phase = ru.practicum.shareit.booking.model.BookingPhase.PAST
+        where b.phase in (ru.practicum.shareit.booking.model.BookingPhase.FUTURE,
+                          ru.practicum.shareit.booking.model.BookingPhase.CURRENT)
+          and b.end <= :now
+        """)
+    int markEnded(@Param("now") Instant now);
+
+    // Windows of one item intersecting [from, to): one range query per item for batch creation
+    @Query("""
+        select new ru.practicum.shareit.booking.repo.BookingWindow(b.start, b.end)
+        from Booking b
+        where b.item.id = :itemId
+          and b.status in :statuses
+          and b.start < :to
+          and b.end   > :from
         """)
-    List<Booking> findAllNextForItems(@Param("itemIds") Collection<Long> itemIds,
-                                      @Param("status") BookingStatus status,
-                                      @Param("now") Instant now);
+    List<BookingWindow> findWindowsInRange(@Param("itemId") Long itemId,
+                                           @Param("statuses") Collection<BookingStatus> statuses,
+                                           @Param("from") Instant from,
+                                           @Param("to") Instant to);
 
     // Overlap check for create
     @Query("""
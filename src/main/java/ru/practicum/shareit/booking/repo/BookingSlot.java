@@ -0,0 +1,6 @@
+package ru.practicum.shareit.booking.repo;
+
+import java.time.Instant;
+
+/** Window [start, end) of a stored booking with its id (see {@link BookingRepository#findSlotsEndingAfter}). */
+public record BookingSlot(Long bookingId, Instant start, Instant end) {}
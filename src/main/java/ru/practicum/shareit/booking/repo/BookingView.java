@@ -0,0 +1,20 @@
+package ru.practicum.shareit.booking.repo;
+
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.Instant;
+
+/**
+ * Read-only row of a booking listing, selected with a JPQL constructor expression
+ * (see {@link BookingListingRepository}). Carries exactly what {@code BookingResponse} needs,
+ * so listings neither load managed entities nor touch lazy associations.
+ */
+public record BookingView(
+        Long id,
+        Instant start,
+        Instant end,
+        BookingStatus status,
+        Long bookerId,
+        Long itemId,
+        String itemName
+) {}
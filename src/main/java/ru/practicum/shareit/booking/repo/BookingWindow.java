@@ -0,0 +1,11 @@
+package ru.practicum.shareit.booking.repo;
+
+import java.time.Instant;
+
+/** Half-open time window [start, end) of a stored booking (see {@link BookingRepository#findWindowsInRange}). */
+public record BookingWindow(Instant start, Instant end) {
+
+    public boolean overlaps(Instant otherStart, Instant otherEnd) {
+        return start.isBefore(otherEnd) && end.isAfter(otherStart);
+    }
+}
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.booking.repo;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.booking.model.CommentEligibility;
+
+import java.time.Instant;
+
+/** Comment eligibility per (booker, item); kept by {@code CommentEligibilityStore}. */
+public interface CommentEligibilityRepository extends JpaRepository<CommentEligibility, CommentEligibility.Key> {
+
+    /** Plain INSERT of a new pair; {@code save} would merge, i.e. SELECT the assigned key first. */
+    @Modifying
+    @Query("""
+        insert into CommentEligibility (bookerId, itemId, eligibleFrom)
+        values (:bookerId, :itemId, :eligibleFrom)
+        """)
+    int insert(@Param("bookerId") Long bookerId,
+               @Param("itemId") Long itemId,
+               @Param("eligibleFrom") Instant eligibleFrom);
+}
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.booking.service;
+
+import java.util.Collection;
+
+/**
+ * Serialises booking creation per item, so the overlap check and the insert
+ * of one booking cannot interleave with another booking of the same item.
+ *
+ * <p>Implementations are selected with {@code shareit.booking.lock}:
+ * {@code striped} (in-process lock stripes, default) or {@code row}
+ * ({@code SELECT ... FOR UPDATE} on the item row, safe across several instances).
+ * Bookings of different items never wait for each other beyond a stripe collision.
+ */
+public interface BookingLockStrategy {
+
+    /**
+     * Acquire the booking lock of the item. Must be called inside a transaction;
+     * the lock is held until that transaction completes.
+     */
+    void lockItem(Long itemId);
+
+    /**
+     * Acquire the booking locks of several items in one order shared by every caller
+     * (the order of the underlying locks), so two callers locking overlapping sets cannot
+     * wait for each other. Same transaction rules as {@link #lockItem}.
+     */
+    void lockItems(Collection<Long> itemIds);
+}
@@ -0,0 +1,224 @@
+package ru.practicum.shareit.booking.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repo.BookingRepository;
+import ru.practicum.shareit.booking.repo.BookingSlot;
+import ru.practicum.shareit.common.tx.TransactionCallbacks;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Optional in-process index of APPROVED/WAITING booking windows per item.
+ *
+ * <p>Each item keeps an immutable timeline sorted by start with a running maximum of end,
+ * so an overlap check is a single binary search. Timelines are loaded from the bookings
+ * table on first use and updated after commit on create/reject. A timeline holds only the
+ * bookings that had not ended at its last load or update; a window starting before that
+ * moment is checked in the DB. Timelines are kept for at most {@code max-items} items and
+ * dropped after {@code expire-after-access} without use.
+ *
+ * <p>The index is only a fast path: {@link BookingServiceImpl} still falls back to
+ * {@link BookingRepository#hasOverlap} when the index is disabled,
+ * or when {@code verify-with-db} asks for a DB confirmation of every "no overlap" answer.
+ *
+ * <p>The index sees only the bookings of its own instance and learns about them after commit, so it
+ * is single-instance only. With the striped lock the stripe is released after the after-commit
+ * update, so the next booking of the item sees it. With {@code shareit.booking.lock=row} the row lock
+ * is released at commit, before that update, and other instances may book the item too: every
+ * "no overlap" answer is then confirmed in the DB regardless of {@code verify-with-db}.
+ */
+@Component
+public class BookingOverlapIndex {
+
+    /** Statuses that block the booking window. */
+    public static final List<BookingStatus> ACTIVE_STATUSES = List.of(BookingStatus.APPROVED, BookingStatus.WAITING);
+
+    private static final int VERSION_STRIPES = 1024;
+
+    private final BookingRepository bookingRepo;
+    private final boolean enabled;
+    private final boolean verifyWithDb;
+
+    private final Cache<Long, Timeline> timelines;
+    /** In-memory changes per stripe of item ids, bumped before each one; lets a concurrent warm-up detect it may be stale. */
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+
+    public BookingOverlapIndex(BookingRepository bookingRepo,
+                               @Value("${shareit.booking.overlap-index.enabled:false}") boolean enabled,
+                               @Value("${shareit.booking.overlap-index.verify-with-db:false}") boolean verifyWithDb,
+                               @Value("${shareit.booking.overlap-index.max-items:10000}") int maxItems,
+                               @Value("${shareit.booking.overlap-index.expire-after-access:30m}") Duration expireAfterAccess,
+                               @Value("${shareit.booking.lock:striped}") String lock) {
+        this.bookingRepo = bookingRepo;
+        this.enabled = enabled;
+        this.verifyWithDb = verifyWithDb || "row".equals(lock);
+        this.timelines = Caffeine.newBuilder()
+                .maximumSize(maxItems)
+                .expireAfterAccess(expireAfterAccess)
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Whether a negative answer must still be confirmed by the DB query (always with the row lock). */
+    public boolean isVerifyWithDb() {
+        return verifyWithDb;
+    }
+
+    /** True if an active booking of the item intersects the half-open window [start, end). */
+    public boolean overlaps(Long itemId, Instant start, Instant end) {
+        Timeline timeline = timeline(itemId);
+        if (start.isBefore(timeline.horizon)) {
+            // bookings ended by the horizon are not kept in memory
+            return bookingRepo.hasOverlap(itemId, ACTIVE_STATUSES, start, end);
+        }
+        return timeline.overlaps(start, end);
+    }
+
+    /** Add a freshly created booking once its transaction commits. */
+    public void track(Booking booking) {
+        if (!enabled) return;
+        Long itemId = booking.getItem().getId();
+        BookingSlot slot = new BookingSlot(booking.getId(), booking.getStart(), booking.getEnd());
+        TransactionCallbacks.afterCommit(() -> {
+            versions.incrementAndGet(stripe(itemId));
+            timelines.asMap().computeIfPresent(itemId, (id, t) -> t.with(slot, Instant.now()));
+        });
+    }
+
+    /** Remove a booking that no longer blocks its window (e.g. rejected) once the transaction commits. */
+    public void untrack(Booking booking) {
+        untrack(booking.getItem().getId(), booking.getId());
+    }
+
+    /** Same as {@link #untrack(Booking)} for callers that only have the ids. */
+    public void untrack(Long itemId, Long bookingId) {
+        if (!enabled) return;
+        TransactionCallbacks.afterCommit(() -> {
+            versions.incrementAndGet(stripe(itemId));
+            timelines.asMap().computeIfPresent(itemId, (id, t) -> t.without(bookingId));
+        });
+    }
+
+    /**
+     * Forget the timelines of the items the user has active bookings of, once the transaction commits.
+     * Call before deleting the user: their bookings then go by ON DELETE CASCADE, unseen by {@link #untrack}.
+     */
+    public void untrackBooker(Long bookerId) {
+        if (!enabled) return;
+        List<Long> itemIds = bookingRepo.findItemIdsBookedBy(bookerId, ACTIVE_STATUSES);
+        if (itemIds.isEmpty()) return;
+        TransactionCallbacks.afterCommit(() -> {
+            itemIds.forEach(itemId -> versions.incrementAndGet(stripe(itemId)));
+            timelines.invalidateAll(itemIds);
+        });
+    }
+
+    private Timeline timeline(Long itemId) {
+        Timeline cached = timelines.getIfPresent(itemId);
+        if (cached != null) {
+            return cached;
+        }
+        // Load outside of the map lock: the DB round trip must not hold a bin lock.
+        int stripe = stripe(itemId);
+        long stamp = versions.get(stripe);
+        Instant now = Instant.now();
+        Timeline loaded = Timeline.of(bookingRepo.findSlotsEndingAfter(itemId, ACTIVE_STATUSES, now), now);
+        // Publish only if the item was not changed while loading, otherwise the snapshot may miss a commit.
+        timelines.asMap().compute(itemId, (id, current) ->
+                current != null ? current : (versions.get(stripe) == stamp ? loaded : null));
+        return loaded;
+    }
+
+    private static int stripe(Long itemId) {
+        return Long.hashCode(itemId) & (VERSION_STRIPES - 1);
+    }
+
+    /**
+     * Immutable timeline: slots sorted by start plus a prefix maximum of their ends.
+     * Holds every active booking of the item that ends after {@code horizon}.
+     */
+    private static final class Timeline {
+
+        private final BookingSlot[] slots;
+        private final Instant[] maxEnds;
+        private final Instant horizon;
+
+        private Timeline(BookingSlot[] slots, Instant horizon) {
+            this.slots = slots;
+            this.horizon = horizon;
+            this.maxEnds = new Instant[slots.length];
+            Instant max = null;
+            for (int i = 0; i < slots.length; i++) {
+                Instant end = slots[i].end();
+                max = (max == null || end.isAfter(max)) ? end : max;
+                maxEnds[i] = max;
+            }
+        }
+
+        static Timeline of(List<BookingSlot> slots, Instant horizon) {
+            BookingSlot[] sorted = slots.toArray(BookingSlot[]::new);
+            Arrays.sort(sorted, Comparator.comparing(BookingSlot::start));
+            return new Timeline(sorted, horizon);
+        }
+
+        boolean overlaps(Instant start, Instant end) {
+            int candidates = countStartingBefore(end);
+            return candidates > 0 && maxEnds[candidates - 1].isAfter(start);
+        }
+
+        /** Adds {@code slot} in start order and drops the slots ended by {@code now}; no re-sort. */
+        Timeline with(BookingSlot slot, Instant now) {
+            Instant newHorizon = now.isAfter(horizon) ? now : horizon;
+            List<BookingSlot> next = new ArrayList<>(slots.length + 1);
+            boolean added = !slot.end().isAfter(newHorizon);
+            for (BookingSlot s : slots) {
+                if (!added && slot.start().isBefore(s.start())) {
+                    next.add(slot);
+                    added = true;
+                }
+                if (!s.bookingId().equals(slot.bookingId()) && s.end().isAfter(newHorizon)) {
+                    next.add(s);
+                }
+            }
+            if (!added) {
+                next.add(slot);
+            }
+            return new Timeline(next.toArray(BookingSlot[]::new), newHorizon);
+        }
+
+        Timeline without(Long bookingId) {
+            return new Timeline(Arrays.stream(slots)
+                    .filter(s -> !s.bookingId().equals(bookingId))
+                    .toArray(BookingSlot[]::new), horizon);
+        }
+
+        /** Number of slots whose start is strictly before {@code moment}. */
+        private int countStartingBefore(Instant moment) {
+            int lo = 0;
+            int hi = slots.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (slots[mid].start().isBefore(moment)) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.BookingPhase;
+import ru.practicum.shareit.booking.repo.BookingRepository;
+
+import java.time.Instant;
+
+/**
+ * Moves bookings whose start or end has passed to the next {@link BookingPhase}.
+ * Each run touches only the rows that crossed a boundary since the previous one
+ * (index ranges on phase + start_ts / end_ts); the updates are idempotent, so
+ * several instances may run it concurrently.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingPhaseSweeper {
+
+    private final BookingRepository bookingRepo;
+
+    @Scheduled(fixedDelayString = "${shareit.booking.phase-sweep-interval:PT1M}")
+    @Transactional // the call below bypasses the proxy, so the transaction must start here
+    public void sweep() {
+        sweep(Instant.now());
+    }
+
+    @Transactional
+    public void sweep(Instant now) {
+        int started = bookingRepo.markStarted(now);
+        int ended = bookingRepo.markEnded(now);
+        if (started > 0 || ended > 0) {
+            log.debug("Booking phases as of {}: {} started, {} ended", now, started, ended);
+        }
+    }
+}
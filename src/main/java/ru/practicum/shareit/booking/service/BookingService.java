@@ -1,10 +1,15 @@
 package ru.practicum.shareit.booking.service;
 
+import ru.practicum.shareit.booking.dto.BookingBatchMode;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResult;
 import ru.practicum.shareit.booking.dto.BookingResponse;
 import ru.practicum.shareit.booking.dto.BookingStateParam;
+import ru.practicum.shareit.common.paging.CursorPage;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Use-case API for managing bookings.
@@ -13,11 +18,42 @@ public interface BookingService {
 
     BookingResponse create(Long userId, BookingCreateDto dto);
 
+    /**
+     * Create several bookings of one booker in a single transaction. Windows are checked against
+     * each other and against stored bookings; results are returned in request order.
+     * In {@link BookingBatchMode#ALL_OR_NOTHING} the first rejected entry fails the whole batch.
+     */
+    List<BookingBatchResult> createBatch(Long userId, List<BookingCreateDto> dtos, BookingBatchMode mode);
+
     BookingResponse approve(Long ownerId, Long bookingId, boolean approved);
 
+    /**
+     * Approve or reject many bookings of the owner in one transaction. Ids that are unknown,
+     * belong to another owner or are not WAITING are reported per id and left unchanged.
+     */
+    List<BookingDecisionResult> approveBulk(Long ownerId, List<Long> bookingIds, boolean approved);
+
     BookingResponse get(Long userId, Long bookingId);
 
     List<BookingResponse> listUser(Long userId, BookingStateParam state, int from, int size);
 
     List<BookingResponse> listOwner(Long ownerId, BookingStateParam state, int from, int size);
+
+    /** Keyset variant of {@link #listUser}; {@code cursor} is null or empty for the first page. */
+    CursorPage<BookingResponse> listUserByCursor(Long userId, BookingStateParam state, String cursor, int size);
+
+    /** Keyset variant of {@link #listOwner}; {@code cursor} is null or empty for the first page. */
+    CursorPage<BookingResponse> listOwnerByCursor(Long ownerId, BookingStateParam state, String cursor, int size);
+
+    /**
+     * 404 if the user does not exist. Lets streaming endpoints reject a request on the request thread,
+     * before the response is committed.
+     */
+    void requireUser(Long userId);
+
+    /**
+     * Feeds every booking of the owner's items matching {@code state}, in {@link #listOwner} order,
+     * to {@code sink} without materialising the history.
+     */
+    void exportOwner(Long ownerId, BookingStateParam state, Consumer<BookingResponse> sink);
 }
\ No newline at end of file
@@ -1,28 +1,48 @@
 package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingBatchMode;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResult;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingResponse;
 import ru.practicum.shareit.booking.dto.BookingStateParam;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repo.BookingEnd;
+import ru.practicum.shareit.booking.repo.BookingOwnership;
 import ru.practicum.shareit.booking.repo.BookingRepository;
+import ru.practicum.shareit.booking.repo.BookingView;
+import ru.practicum.shareit.booking.repo.BookingWindow;
 import ru.practicum.shareit.common.exception.BadRequestException;
+import ru.practicum.shareit.common.exception.ConflictException;
 import ru.practicum.shareit.common.exception.ForbiddenException;   // ← добавили
 import ru.practicum.shareit.common.exception.NotFoundException;
+import ru.practicum.shareit.common.paging.CursorPage;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repo.ItemRepository;
+import ru.practicum.shareit.item.service.ItemChangedEvent;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repo.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceCache;
 
 import java.time.Instant;
 import java.time.LocalDateTime;
-import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -32,6 +52,11 @@ public class BookingServiceImpl implements BookingService {
     private final BookingRepository bookingRepo;
     private final ItemRepository itemRepo;
     private final UserRepository userRepo;
+    private final UserExistenceCache userExistence;
+    private final BookingOverlapIndex overlapIndex;
+    private final BookingLockStrategy lockStrategy;
+    private final CommentEligibilityStore eligibility;
+    private final ApplicationEventPublisher events;
 
     @Override
     @Transactional
@@ -52,27 +77,114 @@ public class BookingServiceImpl implements BookingService {
             throw new BadRequestException("invalid time window");
         }
 
-        boolean overlaps = bookingRepo.hasOverlap(
-                item.getId(),
-                List.of(BookingStatus.APPROVED, BookingStatus.WAITING),
-                dto.start().atOffset(ZoneOffset.UTC).toInstant(),
-                dto.end().atOffset(ZoneOffset.UTC).toInstant()
-        );
-        if (overlaps) {
+        // the window is converted once: the check, the stored row and the tracked slot use the same instants
+        Booking booking = BookingMapper.toEntity(dto, item, booker);
+
+        // check-then-insert below must not interleave with another booking of this item
+        lockStrategy.lockItem(item.getId());
+
+        if (hasOverlap(item.getId(), booking.getStart(), booking.getEnd())) {
             throw new BadRequestException("booking time overlaps with existing booking");
         }
 
-        Booking saved = bookingRepo.save(BookingMapper.toEntity(dto, item, booker));
+        Booking saved = bookingRepo.save(booking);
+        overlapIndex.track(saved);
+        events.publishEvent(ItemChangedEvent.bookings(item.getId()));
         return BookingMapper.toResponse(saved);
     }
 
+    @Override
+    @Transactional
+    public List<BookingBatchResult> createBatch(Long userId, List<BookingCreateDto> dtos, BookingBatchMode mode) {
+        User booker = userRepo.findById(userId)
+                .orElseThrow(() -> new NotFoundException("user not found"));
+        Map<Long, Item> items = itemRepo.findAllById(dtos.stream().map(BookingCreateDto::itemId).distinct().toList())
+                .stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        BookingBatchResult[] results = new BookingBatchResult[dtos.size()];
+        Map<Long, List<Integer>> candidatesByItem = new TreeMap<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            RuntimeException error = checkCandidate(dtos.get(i), items.get(dtos.get(i).itemId()), userId);
+            if (error != null) {
+                results[i] = reject(i, error, mode);
+            } else {
+                candidatesByItem.computeIfAbsent(dtos.get(i).itemId(), id -> new ArrayList<>()).add(i);
+            }
+        }
+
+        // in the lock strategy's order, so two overlapping batches cannot wait for each other's locks
+        lockStrategy.lockItems(candidatesByItem.keySet());
+
+        List<Booking> accepted = new ArrayList<>();
+        int[] acceptedIndexes = new int[dtos.size()];
+        candidatesByItem.forEach((itemId, indexes) -> {
+            List<Booking> entities = indexes.stream()
+                    .map(i -> BookingMapper.toEntity(dtos.get(i), items.get(itemId), booker))
+                    .toList();
+            Instant from = entities.stream().map(Booking::getStart).min(Comparator.naturalOrder()).orElseThrow();
+            Instant to = entities.stream().map(Booking::getEnd).max(Comparator.naturalOrder()).orElseThrow();
+            List<BookingWindow> taken = new ArrayList<>(
+                    bookingRepo.findWindowsInRange(itemId, BookingOverlapIndex.ACTIVE_STATUSES, from, to));
+
+            for (int k = 0; k < indexes.size(); k++) {
+                Booking b = entities.get(k);
+                if (taken.stream().anyMatch(w -> w.overlaps(b.getStart(), b.getEnd()))) {
+                    int i = indexes.get(k);
+                    results[i] = reject(i, new BadRequestException("booking time overlaps with existing booking"), mode);
+                    continue;
+                }
+                taken.add(new BookingWindow(b.getStart(), b.getEnd()));
+                acceptedIndexes[accepted.size()] = indexes.get(k);
+                accepted.add(b);
+            }
+        });
+
+        List<Booking> saved = bookingRepo.saveAll(accepted);
+        for (int k = 0; k < saved.size(); k++) {
+            Booking b = saved.get(k);
+            overlapIndex.track(b);
+            results[acceptedIndexes[k]] = BookingBatchResult.created(acceptedIndexes[k], BookingMapper.toResponse(b));
+        }
+        saved.stream().map(b -> b.getItem().getId()).distinct()
+                .forEach(itemId -> events.publishEvent(ItemChangedEvent.bookings(itemId)));
+        return List.of(results);
+    }
+
+    /** Same per-booking rules as {@link #create}; returns the error instead of throwing it. */
+    private static RuntimeException checkCandidate(BookingCreateDto dto, Item item, Long userId) {
+        if (item == null) {
+            return new NotFoundException("item not found");
+        }
+        if (!item.isAvailable()) {
+            return new BadRequestException("item is not available");
+        }
+        if (item.getOwner() != null && item.getOwner().getId().equals(userId)) {
+            return new NotFoundException("owner cannot book own item");
+        }
+        if (!dto.start().isBefore(dto.end())) {
+            return new BadRequestException("invalid time window");
+        }
+        return null;
+    }
+
+    private static BookingBatchResult reject(int index, RuntimeException error, BookingBatchMode mode) {
+        String message = "bookings[" + index + "]: " + error.getMessage();
+        if (mode == BookingBatchMode.ALL_OR_NOTHING) {
+            throw error instanceof NotFoundException
+                    ? new NotFoundException(message)
+                    : new BadRequestException(message);
+        }
+        return BookingBatchResult.rejected(index, message);
+    }
+
     @Override
     @Transactional
     public BookingResponse approve(Long ownerId, Long bookingId, boolean approved) {
         Booking b = bookingRepo.findById(bookingId)
                 .orElseThrow(() -> new NotFoundException("booking not found"));
 
-        if (!b.getItem().getOwner().getId().equals(ownerId)) {
+        if (!b.getOwnerId().equals(ownerId)) {
             throw new ForbiddenException("only owner can approve");
         }
         if (b.getStatus() != BookingStatus.WAITING) {
@@ -80,15 +192,63 @@ public class BookingServiceImpl implements BookingService {
         }
 
         b.setStatus(approved ? BookingStatus.APPROVED : BookingStatus.REJECTED);
+        if (approved) {
+            eligibility.recordApproved(List.of(new BookingEnd(b.getBooker().getId(), b.getItem().getId(), b.getEnd())));
+        } else {
+            overlapIndex.untrack(b);
+        }
+        events.publishEvent(ItemChangedEvent.bookings(b.getItem().getId()));
         return BookingMapper.toResponse(bookingRepo.save(b));
     }
 
+    @Override
+    @Transactional
+    public List<BookingDecisionResult> approveBulk(Long ownerId, List<Long> bookingIds, boolean approved) {
+        List<Long> ids = bookingIds.stream().distinct().toList();
+        Map<Long, BookingOwnership> found = bookingRepo.findOwnership(ids).stream()
+                .collect(Collectors.toMap(BookingOwnership::id, Function.identity()));
+        BookingStatus target = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+
+        List<BookingDecisionResult> results = new ArrayList<>(ids.size());
+        List<BookingOwnership> decided = new ArrayList<>();
+        for (Long id : ids) {
+            BookingOwnership b = found.get(id);
+            if (b == null) {
+                results.add(BookingDecisionResult.rejected(id, "booking not found"));
+            } else if (!b.ownerId().equals(ownerId)) {
+                results.add(BookingDecisionResult.rejected(id, "only owner can approve"));
+            } else if (b.status() != BookingStatus.WAITING) {
+                results.add(BookingDecisionResult.rejected(id, "booking is not in WAITING state"));
+            } else {
+                results.add(BookingDecisionResult.applied(id, target.name()));
+                decided.add(b);
+            }
+        }
+        if (decided.isEmpty()) {
+            return results;
+        }
+
+        int updated = bookingRepo.decideWaiting(decided.stream().map(BookingOwnership::id).toList(), target);
+        if (updated != decided.size()) {
+            // another request decided some of these bookings after they were read; roll back, let the client retry
+            throw new ConflictException("bookings were changed concurrently, retry");
+        }
+        if (approved) {
+            eligibility.recordApproved(bookingRepo.findEarliestEnds(decided.stream().map(BookingOwnership::id).toList()));
+        } else {
+            decided.forEach(b -> overlapIndex.untrack(b.itemId(), b.id()));
+        }
+        decided.stream().map(BookingOwnership::itemId).distinct()
+                .forEach(itemId -> events.publishEvent(ItemChangedEvent.bookings(itemId)));
+        return results;
+    }
+
     @Override
     public BookingResponse get(Long userId, Long bookingId) {
         Booking b = bookingRepo.findById(bookingId)
                 .orElseThrow(() -> new NotFoundException("booking not found"));
 
-        boolean isOwner = b.getItem().getOwner().getId().equals(userId);
+        boolean isOwner = b.getOwnerId().equals(userId);
         boolean isBooker = b.getBooker().getId().equals(userId);
         if (!isOwner && !isBooker) {
             throw new NotFoundException("no access to booking");
@@ -99,47 +259,77 @@ public class BookingServiceImpl implements BookingService {
     @Override
     public List<BookingResponse> listUser(Long userId, BookingStateParam state, int from, int size) {
         ensureUserExists(userId);
-        var page = PageRequest.of(from / size, size);
-        Instant now = Instant.now();
-
-        List<Booking> data = switch (state) {
-            case ALL     -> bookingRepo.findByBooker_IdOrderByStartDesc(userId, page);
-            case CURRENT -> bookingRepo.findByBooker_IdAndStartBeforeAndEndAfterOrderByStartDesc(userId, now, now, page);
-            case PAST    -> bookingRepo.findByBooker_IdAndEndBeforeOrderByStartDesc(userId, now, page);
-            case FUTURE  -> bookingRepo.findByBooker_IdAndStartAfterOrderByStartDesc(userId, now, page);
-            case WAITING, REJECTED ->
-                    bookingRepo.findByBooker_IdAndStatusOrderByStartDesc(
-                            userId,
-                            state == BookingStateParam.WAITING ? BookingStatus.WAITING : BookingStatus.REJECTED,
-                            page
-                    );
-        };
-        return data.stream().map(BookingMapper::toResponse).toList();
+        return bookingRepo.pageByBooker(userId, state, Instant.now(), PageRequest.of(from / size, size)).stream()
+                .map(BookingMapper::toResponse)
+                .toList();
     }
 
     @Override
     public List<BookingResponse> listOwner(Long ownerId, BookingStateParam state, int from, int size) {
         ensureUserExists(ownerId);
-        var page = PageRequest.of(from / size, size);
-        Instant now = Instant.now();
-
-        List<Booking> data = switch (state) {
-            case ALL     -> bookingRepo.findByItem_Owner_IdOrderByStartDesc(ownerId, page);
-            case CURRENT -> bookingRepo.findByItem_Owner_IdAndStartBeforeAndEndAfterOrderByStartDesc(ownerId, now, now, page);
-            case PAST    -> bookingRepo.findByItem_Owner_IdAndEndBeforeOrderByStartDesc(ownerId, now, page);
-            case FUTURE  -> bookingRepo.findByItem_Owner_IdAndStartAfterOrderByStartDesc(ownerId, now, page);
-            case WAITING, REJECTED ->
-                    bookingRepo.findByItem_Owner_IdAndStatusOrderByStartDesc(
-                            ownerId,
-                            state == BookingStateParam.WAITING ? BookingStatus.WAITING : BookingStatus.REJECTED,
-                            page
-                    );
-        };
-        return data.stream().map(BookingMapper::toResponse).toList();
+        return bookingRepo.pageByOwner(ownerId, state, Instant.now(), PageRequest.of(from / size, size)).stream()
+                .map(BookingMapper::toResponse)
+                .toList();
+    }
+
+    @Override
+    public CursorPage<BookingResponse> listUserByCursor(Long userId, BookingStateParam state, String cursor, int size) {
+        ensureUserExists(userId);
+        List<BookingView> data = bookingRepo.seekByBooker(userId, state, Instant.now(), parseCursor(cursor), size + 1);
+        return toCursorPage(data, size);
+    }
+
+    @Override
+    public CursorPage<BookingResponse> listOwnerByCursor(Long ownerId, BookingStateParam state, String cursor, int size) {
+        ensureUserExists(ownerId);
+        List<BookingView> data = bookingRepo.seekByOwner(ownerId, state, Instant.now(), parseCursor(cursor), size + 1);
+        return toCursorPage(data, size);
+    }
+
+    @Override
+    public void requireUser(Long userId) {
+        ensureUserExists(userId);
+    }
+
+    @Override
+    public void exportOwner(Long ownerId, BookingStateParam state, Consumer<BookingResponse> sink) {
+        ensureUserExists(ownerId);
+        try (Stream<BookingView> rows = bookingRepo.streamByOwner(ownerId, state, Instant.now())) {
+            rows.map(BookingMapper::toResponse).forEach(sink);
+        }
+    }
+
+    private static BookingCursor parseCursor(String cursor) {
+        return (cursor == null || cursor.isBlank()) ? null : BookingCursor.decode(cursor);
+    }
+
+    /** {@code data} holds up to size + 1 rows; the extra row only signals that a next page exists. */
+    private static CursorPage<BookingResponse> toCursorPage(List<BookingView> data, int size) {
+        if (data.size() <= size) {
+            return new CursorPage<>(data.stream().map(BookingMapper::toResponse).toList(), null);
+        }
+        List<BookingView> page = data.subList(0, size);
+        BookingView last = page.get(size - 1);
+        String next = new BookingCursor(last.start(), last.id()).encode();
+        return new CursorPage<>(page.stream().map(BookingMapper::toResponse).toList(), next);
+    }
+
+    /**
+     * Overlap check for a new window: the in-memory index answers when enabled,
+     * the DB query stays as the fallback (and as a confirmation when verify-with-db is on).
+     */
+    private boolean hasOverlap(Long itemId, Instant start, Instant end) {
+        if (overlapIndex.isEnabled()) {
+            boolean indexed = overlapIndex.overlaps(itemId, start, end);
+            if (indexed || !overlapIndex.isVerifyWithDb()) {
+                return indexed;
+            }
+        }
+        return bookingRepo.hasOverlap(itemId, BookingOverlapIndex.ACTIVE_STATUSES, start, end);
     }
 
     private void ensureUserExists(Long userId) {
-        if (!userRepo.existsById(userId)) {
+        if (!userExistence.exists(userId)) {
             throw new NotFoundException("user not found");
         }
     }
@@ -0,0 +1,86 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.CommentEligibility;
+import ru.practicum.shareit.booking.repo.BookingEnd;
+import ru.practicum.shareit.booking.repo.BookingRepository;
+import ru.practicum.shareit.booking.repo.CommentEligibilityRepository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * When a booker may comment on an item: from the end of their first APPROVED booking of it.
+ * One {@code comment_eligibility} row per (booker, item), so a comment attempt is a primary-key
+ * lookup instead of a query over the booker's bookings.
+ *
+ * <p>Rows are written when bookings are approved; a pair without a row (bookings approved before
+ * the store existed or written around the service) is computed from bookings on its first lookup
+ * and recorded. APPROVED is final and bookings go away only with their item or booker (the row
+ * cascades with them), so a stored time can only move earlier. Writes of one pair are serialised
+ * by the item's {@link BookingLockStrategy} lock.
+ */
+@Component
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class CommentEligibilityStore {
+
+    private final CommentEligibilityRepository repo;
+    private final BookingRepository bookingRepo;
+    private final BookingLockStrategy lockStrategy;
+
+    /** Earliest moment the booker may comment on the item; empty if they have no APPROVED booking of it. */
+    @Transactional
+    public Optional<Instant> eligibleFrom(Long bookerId, Long itemId) {
+        Optional<Instant> stored = find(bookerId, itemId);
+        if (stored.isPresent()) {
+            return stored;
+        }
+        // no APPROVED booking: a plain miss, without the item lock (repeated attempts stay cheap)
+        Optional<Instant> computed = bookingRepo.findEarliestApprovedEnd(bookerId, itemId);
+        if (computed.isEmpty()) {
+            return computed;
+        }
+        lockStrategy.lockItem(itemId);
+        // an approval recorded meanwhile wrote the row under the same lock
+        return find(bookerId, itemId).or(() -> {
+            repo.insert(bookerId, itemId, computed.get());
+            return computed;
+        });
+    }
+
+    public boolean canComment(Long bookerId, Long itemId, Instant now) {
+        return eligibleFrom(bookerId, itemId).filter(from -> !from.isAfter(now)).isPresent();
+    }
+
+    /** Records newly approved bookings, keeping the earliest end per (booker, item). */
+    @Transactional
+    public void recordApproved(Collection<BookingEnd> approved) {
+        // in the lock strategy's order, like batch creation, so two approvals cannot wait for each other's locks
+        lockStrategy.lockItems(approved.stream().map(BookingEnd::itemId).toList());
+
+        Map<CommentEligibility.Key, CommentEligibility> existing = repo.findAllById(
+                        approved.stream().map(a -> new CommentEligibility.Key(a.bookerId(), a.itemId())).toList())
+                .stream()
+                .collect(Collectors.toMap(e -> new CommentEligibility.Key(e.getBookerId(), e.getItemId()),
+                        Function.identity()));
+        for (BookingEnd a : approved) {
+            CommentEligibility e = existing.get(new CommentEligibility.Key(a.bookerId(), a.itemId()));
+            if (e == null) {
+                repo.insert(a.bookerId(), a.itemId(), a.end());
+            } else if (a.end().isBefore(e.getEligibleFrom())) {
+                e.setEligibleFrom(a.end());
+            }
+        }
+    }
+
+    private Optional<Instant> find(Long bookerId, Long itemId) {
+        return repo.findById(new CommentEligibility.Key(bookerId, itemId)).map(CommentEligibility::getEligibleFrom);
+    }
+}
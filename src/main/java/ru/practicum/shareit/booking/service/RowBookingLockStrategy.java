@@ -0,0 +1,34 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.common.exception.NotFoundException;
+import ru.practicum.shareit.item.repo.ItemRepository;
+
+import java.util.Collection;
+
+/**
+ * DB-level lock: {@code SELECT ... FOR UPDATE} on the booked item row.
+ * The row lock lives until commit/rollback and also serialises bookings
+ * coming from other application instances.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.booking.lock", havingValue = "row")
+public class RowBookingLockStrategy implements BookingLockStrategy {
+
+    private final ItemRepository itemRepo;
+
+    @Override
+    public void lockItem(Long itemId) {
+        itemRepo.lockById(itemId)
+                .orElseThrow(() -> new NotFoundException("item not found"));
+    }
+
+    /** Row locks in ascending item id. */
+    @Override
+    public void lockItems(Collection<Long> itemIds) {
+        itemIds.stream().distinct().sorted().forEach(this::lockItem);
+    }
+}
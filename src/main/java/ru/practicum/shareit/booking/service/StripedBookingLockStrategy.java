@@ -0,0 +1,65 @@
+package ru.practicum.shareit.booking.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.common.exception.ConflictException;
+import ru.practicum.shareit.common.tx.TransactionCallbacks;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-process striped locks keyed by item id. The stripe is released after the
+ * surrounding transaction completes, so the next booking of the item sees the
+ * committed row. Uses {@link ReentrantLock} rather than {@code synchronized}
+ * to stay friendly to virtual threads blocked on JDBC.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.booking.lock", havingValue = "striped", matchIfMissing = true)
+public class StripedBookingLockStrategy implements BookingLockStrategy {
+
+    private final ReentrantLock[] stripes;
+    private final long timeoutMillis;
+
+    public StripedBookingLockStrategy(@Value("${shareit.booking.lock-stripes:256}") int stripes,
+                                      @Value("${shareit.booking.lock-timeout:5s}") Duration timeout) {
+        this.stripes = new ReentrantLock[Integer.highestOneBit(Math.max(1, stripes - 1)) << 1];
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    @Override
+    public void lockItem(Long itemId) {
+        lockStripe(stripeOf(itemId));
+    }
+
+    /** Each stripe once, in ascending stripe index: item ids in ascending order may map to stripes in any order. */
+    @Override
+    public void lockItems(Collection<Long> itemIds) {
+        itemIds.stream().mapToInt(this::stripeOf).distinct().sorted().forEach(this::lockStripe);
+    }
+
+    private void lockStripe(int stripe) {
+        ReentrantLock lock = stripes[stripe];
+        try {
+            if (!lock.tryLock(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new ConflictException("item is being booked concurrently, retry later");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("interrupted while waiting for item lock");
+        }
+        TransactionCallbacks.afterCompletion(lock::unlock);
+    }
+
+    private int stripeOf(Long itemId) {
+        int h = Long.hashCode(itemId);
+        h ^= (h >>> 16);
+        return h & (stripes.length - 1);
+    }
+}
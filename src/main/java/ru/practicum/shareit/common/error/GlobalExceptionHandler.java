@@ -1,10 +1,12 @@
 package ru.practicum.shareit.common.error;
 
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.convert.ConversionFailedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.util.StringUtils;
@@ -21,6 +23,7 @@ import ru.practicum.shareit.common.exception.BadRequestException;
 import ru.practicum.shareit.common.exception.ConflictException;
 import ru.practicum.shareit.common.exception.ForbiddenException;
 import ru.practicum.shareit.common.exception.NotFoundException;
+import ru.practicum.shareit.common.exception.TooManyRequestsException;
 
 import java.time.Instant;
 import java.util.NoSuchElementException;
@@ -33,6 +36,7 @@ import java.util.stream.Collectors;
  * 403 – forbidden (permission/ownership);
  * 404 – not found;
  * 409 – conflict (domain uniqueness);
+ * 429 – too many requests (bounded queue full), with {@code Retry-After};
  * 500 – unexpected errors.
  */
 @RestControllerAdvice
@@ -171,6 +175,17 @@ public class GlobalExceptionHandler {
         return body(HttpStatus.CONFLICT, safeMsg(ex.getMessage(), "Conflict"), req);
     }
 
+    // ---- 429: Too Many Requests ----
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    public ErrorResponse handleTooManyRequests(TooManyRequestsException ex, HttpServletRequest req,
+                                               HttpServletResponse res) {
+        log.warn("429 {} {} -> {}", req.getMethod(), req.getRequestURI(), ex.getMessage());
+        res.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        return body(HttpStatus.TOO_MANY_REQUESTS, safeMsg(ex.getMessage(), "Too many requests"), req);
+    }
+
     // ---- 500: Fallback ----
 
     @ExceptionHandler(Exception.class)
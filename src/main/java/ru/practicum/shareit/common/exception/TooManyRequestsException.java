@@ -0,0 +1,8 @@
+package ru.practicum.shareit.common.exception;
+
+/** The request was valid but cannot be accepted now (a bounded queue is full); the client should retry. */
+public class TooManyRequestsException extends RuntimeException {
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+}
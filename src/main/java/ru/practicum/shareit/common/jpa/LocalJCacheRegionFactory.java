@@ -0,0 +1,34 @@
+package ru.practicum.shareit.common.jpa;
+
+import com.github.benmanes.caffeine.jcache.CacheManagerImpl;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Hibernate JCache region factory with a Caffeine cache manager of its own, closed with the session factory.
+ *
+ * <p>The stock factory takes the manager from the JVM-wide {@link Caching} registry, which hands out one
+ * manager per config URI: two session factories in one JVM (test contexts on separate databases) would
+ * share regions and read each other's entities. It also resolves {@code hibernate.javax.cache.uri} to a
+ * URL, and Caffeine ignores {@code jar:} URLs, so the regions would not load from the packaged app.
+ * Here the URI goes to Caffeine as is; {@code classpath:} URIs work inside the jar.
+ */
+public class LocalJCacheRegionFactory extends JCacheRegionFactory {
+
+    private static final String DEFAULT_URI = "classpath:hibernate-cache.conf";
+
+    @Override
+    protected CacheManager resolveCacheManager(SessionFactoryOptions settings, Map<String, Object> properties) {
+        CachingProvider provider = getCachingProvider(properties);
+        URI uri = URI.create((String) properties.getOrDefault(ConfigSettings.CONFIG_URI, DEFAULT_URI));
+        return new CacheManagerImpl(provider, false, uri, getClassLoader(provider), new Properties());
+    }
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.common.paging;
+
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+
+/**
+ * One page of a keyset (cursor) listing.
+ * {@code nextCursor} is null when there is nothing after this page.
+ */
+public record CursorPage<T>(
+        List<T> items,
+        @Nullable String nextCursor
+) {}
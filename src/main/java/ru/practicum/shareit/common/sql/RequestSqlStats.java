@@ -0,0 +1,40 @@
+package ru.practicum.shareit.common.sql;
+
+/**
+ * JDBC work done on behalf of one HTTP request. Confined to the request thread, so plain fields.
+ */
+public final class RequestSqlStats {
+
+    private int statements;
+    private long jdbcNanos;
+    private long rows;
+    private long executionStartedAt;
+
+    void executionStarted() {
+        executionStartedAt = System.nanoTime();
+    }
+
+    void executionFinished() {
+        statements++;
+        jdbcNanos += System.nanoTime() - executionStartedAt;
+    }
+
+    void rowRead() {
+        rows++;
+    }
+
+    /** Statement executions; a JDBC batch counts once. */
+    public int statements() {
+        return statements;
+    }
+
+    /** Time spent inside statement executions (not in reading result sets). */
+    public long jdbcNanos() {
+        return jdbcNanos;
+    }
+
+    /** Rows read from result sets. */
+    public long rows() {
+        return rows;
+    }
+}
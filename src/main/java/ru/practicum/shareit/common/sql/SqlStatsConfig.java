@@ -0,0 +1,64 @@
+package ru.practicum.shareit.common.sql;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+/**
+ * Per-request SQL metrics: wraps the {@link DataSource} with datasource-proxy and
+ * registers {@link SqlStatsInterceptor} for all controller calls. Opt-in with
+ * {@code shareit.sql.metrics.enabled=true}: the proxy adds a listener call to every JDBC statement
+ * and {@code ResultSet.next()}, which is meant for profiling, not for every production request.
+ */
+@Configuration
+@ConditionalOnProperty(name = "shareit.sql.metrics.enabled", havingValue = "true")
+public class SqlStatsConfig {
+
+    @Bean
+    public SqlStatsListener sqlStatsListener() {
+        return new SqlStatsListener();
+    }
+
+    @Bean
+    public static BeanPostProcessor sqlStatsDataSourceProxy(ObjectProvider<SqlStatsListener> listener) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+                SqlStatsListener l = listener.getObject();
+                return ProxyDataSourceBuilder.create(beanName, dataSource)
+                        .listener(l)
+                        .methodListener(l)
+                        .proxyResultSet()
+                        .build();
+            }
+        };
+    }
+
+    @Bean
+    public SqlStatsInterceptor sqlStatsInterceptor(SqlStatsListener listener, MeterRegistry registry,
+                                                   @Value("${shareit.sql.query-budget:20}") int queryBudget) {
+        return new SqlStatsInterceptor(listener, registry, queryBudget);
+    }
+
+    @Bean
+    public WebMvcConfigurer sqlStatsWebMvcConfigurer(SqlStatsInterceptor interceptor) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(interceptor);
+            }
+        };
+    }
+}
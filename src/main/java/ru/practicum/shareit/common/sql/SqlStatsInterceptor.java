@@ -0,0 +1,90 @@
+package ru.practicum.shareit.common.sql;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.Nullable;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the SQL work of every controller call, tagged with {@code handler=Controller.method}:
+ * <ul>
+ *   <li>{@code shareit.sql.statements} and {@code shareit.sql.rows} — distribution summaries per request;</li>
+ *   <li>{@code shareit.sql.time} — timer of the time spent in JDBC executions per request;</li>
+ *   <li>{@code shareit.sql.budget.exceeded} — requests that ran more than {@code queryBudget} statements,
+ *       each also logged as a warning.</li>
+ * </ul>
+ * A request that goes async (streaming export) is measured per dispatch, on the thread that runs it;
+ * work done by the streaming body itself is not attributed.
+ */
+@Slf4j
+public class SqlStatsInterceptor implements AsyncHandlerInterceptor {
+
+    private final SqlStatsListener listener;
+    private final MeterRegistry registry;
+    private final int queryBudget;
+
+    public SqlStatsInterceptor(SqlStatsListener listener, MeterRegistry registry, int queryBudget) {
+        this.listener = listener;
+        this.registry = registry;
+        this.queryBudget = queryBudget;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            listener.begin();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        listener.end();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                @Nullable Exception ex) {
+        RequestSqlStats stats = listener.end();
+        if (stats == null || !(handler instanceof HandlerMethod method)) {
+            return;
+        }
+        String tag = method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+
+        DistributionSummary.builder("shareit.sql.statements")
+                .description("JDBC statement executions per request")
+                .tag("handler", tag)
+                .register(registry)
+                .record(stats.statements());
+        DistributionSummary.builder("shareit.sql.rows")
+                .description("Rows read from JDBC result sets per request")
+                .tag("handler", tag)
+                .register(registry)
+                .record(stats.rows());
+        Timer.builder("shareit.sql.time")
+                .description("Time spent in JDBC statement executions per request")
+                .tag("handler", tag)
+                .register(registry)
+                .record(stats.jdbcNanos(), TimeUnit.NANOSECONDS);
+
+        if (stats.statements() > queryBudget) {
+            Counter.builder("shareit.sql.budget.exceeded")
+                    .description("Requests that ran more statements than shareit.sql.query-budget")
+                    .tag("handler", tag)
+                    .register(registry)
+                    .increment();
+            log.warn("{} {} ({}) ran {} SQL statements, budget {}: {} rows, {} ms in JDBC",
+                    request.getMethod(), request.getRequestURI(), tag, stats.statements(), queryBudget,
+                    stats.rows(), TimeUnit.NANOSECONDS.toMillis(stats.jdbcNanos()));
+        }
+    }
+}
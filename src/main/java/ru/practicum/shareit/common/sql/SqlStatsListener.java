@@ -0,0 +1,65 @@
+package ru.practicum.shareit.common.sql;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.lang.Nullable;
+
+import java.sql.ResultSet;
+import java.util.List;
+
+/**
+ * datasource-proxy listener feeding the {@link RequestSqlStats} of the current thread.
+ * JDBC calls outside of {@link #begin()}/{@link #end()} (startup, schedulers, other threads) are not tracked.
+ */
+public class SqlStatsListener implements QueryExecutionListener, MethodExecutionListener {
+
+    private final ThreadLocal<RequestSqlStats> current = new ThreadLocal<>();
+
+    /** Starts tracking on this thread, replacing stats left over by an unfinished request. */
+    public void begin() {
+        current.set(new RequestSqlStats());
+    }
+
+    /** Stops tracking on this thread; {@code null} if {@link #begin()} was not called. */
+    @Nullable
+    public RequestSqlStats end() {
+        RequestSqlStats stats = current.get();
+        current.remove();
+        return stats;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestSqlStats stats = current.get();
+        if (stats != null) {
+            stats.executionStarted();
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestSqlStats stats = current.get();
+        if (stats != null) {
+            stats.executionFinished();
+        }
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        if (executionContext.getTarget() instanceof ResultSet
+                && Boolean.TRUE.equals(executionContext.getResult())
+                && "next".equals(executionContext.getMethod().getName())) {
+            RequestSqlStats stats = current.get();
+            if (stats != null) {
+                stats.rowRead();
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.common.web;
+
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.common.paging.CursorPage;
+
+import java.util.List;
+
+/**
+ * @apiNote Cursor listings keep the plain JSON array body of offset listings;
+ * the position of the next page travels in the {@value #NEXT_CURSOR_HEADER} header.
+ */
+public final class CursorResponses {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private CursorResponses() {}
+
+    public static <T> ResponseEntity<List<T>> ok(CursorPage<T> page) {
+        var builder = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            builder.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return builder.body(page.items());
+    }
+}
@@ -1,15 +1,22 @@
 package ru.practicum.shareit.item.controller;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.common.web.CurrentUserId;
+import ru.practicum.shareit.common.web.CursorResponses;
 import ru.practicum.shareit.item.dto.*;
+import ru.practicum.shareit.item.service.CommentWriter;
 import ru.practicum.shareit.item.service.ItemService;
 
 import java.util.List;
 
+@Validated
 @RestController
 @RequestMapping("/items")
 @RequiredArgsConstructor
@@ -18,6 +25,7 @@ public class ItemController {
     private static final String USER_HEADER = "X-Sharer-User-Id";
 
     private final ItemService service;
+    private final CommentWriter commentWriter;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -30,12 +38,30 @@ public class ItemController {
     @GetMapping("/{itemId}")
     public ItemDetailsResponse get(@PathVariable Long itemId,
                                    @RequestHeader(value = USER_HEADER, required = false) Long requesterId) {
+        awaitOwnComments(requesterId);
         return service.get(requesterId, itemId);
     }
 
+    /**
+     * GET /items — owner's items with last/next bookings and comments, by id.
+     * Without {@code from}/{@code size}/{@code cursor} returns all of them (legacy behaviour);
+     * with {@code from} or {@code size} returns one page ({@code from}=0, {@code size}=20 by default).
+     * With {@code cursor} (empty for the first page) switches to keyset paging:
+     * {@code from} is ignored and the next page cursor is returned in {@code X-Next-Cursor}.
+     */
     @GetMapping
-    public List<ItemDetailsResponse> listOwner(@CurrentUserId Long userId) {
-        return service.listOwnerItems(userId);
+    public ResponseEntity<List<ItemDetailsResponse>> listOwner(@CurrentUserId Long userId,
+                                                               @RequestParam(name = "from", required = false)   @PositiveOrZero Integer from,
+                                                               @RequestParam(name = "size", required = false)   @Positive       Integer size,
+                                                               @RequestParam(name = "cursor", required = false) String cursor) {
+        int pageSize = size == null ? 20 : size;
+        if (cursor != null) {
+            return CursorResponses.ok(service.listOwnerItemsByCursor(userId, cursor, pageSize));
+        }
+        if (from == null && size == null) {
+            return ResponseEntity.ok(service.listOwnerItems(userId));
+        }
+        return ResponseEntity.ok(service.listOwnerItems(userId, from == null ? 0 : from, pageSize));
     }
 
     @PatchMapping("/{itemId}")
@@ -45,9 +71,25 @@ public class ItemController {
         return service.patch(userId, itemId, dto);
     }
 
+    /** GET /items/search?text=...&from=&size= — ranked search over available items. */
     @GetMapping("/search")
-    public List<ItemResponse> search(@RequestParam String text) {
-        return service.search(text);
+    public List<ItemResponse> search(@RequestParam String text,
+                                     @RequestParam(name = "from", defaultValue = "0")  @PositiveOrZero int from,
+                                     @RequestParam(name = "size", defaultValue = "20") @Positive      int size) {
+        return service.search(text, from, size);
+    }
+
+    /**
+     * GET /items/{itemId}/comments — the item's comments, newest first, by keyset:
+     * the next page cursor is returned in {@code X-Next-Cursor}. Item details embed only the latest ones.
+     */
+    @GetMapping("/{itemId}/comments")
+    public ResponseEntity<List<CommentResponse>> listComments(@PathVariable Long itemId,
+                                                              @RequestHeader(value = USER_HEADER, required = false) Long requesterId,
+                                                              @RequestParam(name = "size", defaultValue = "20") @Positive int size,
+                                                              @RequestParam(name = "cursor", required = false) String cursor) {
+        awaitOwnComments(requesterId);
+        return CursorResponses.ok(service.listComments(itemId, cursor, size));
     }
 
     /** POST /items/{itemId}/comment — add a comment (requires a past APPROVED booking). */
@@ -58,4 +100,14 @@ public class ItemController {
                                       @RequestBody @Valid CommentCreateDto dto) {
         return service.addComment(userId, itemId, dto);
     }
-}
\ No newline at end of file
+
+    /**
+     * The author sees their own queued comments. Waits here, before the service opens its transaction,
+     * so a waiting request does not hold a pooled connection the comment writer needs to flush.
+     */
+    private void awaitOwnComments(Long requesterId) {
+        if (requesterId != null) {
+            commentWriter.awaitWritesOf(requesterId);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.item.dto;
+
+import ru.practicum.shareit.common.exception.BadRequestException;
+import ru.practicum.shareit.common.paging.CursorCodec;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Keyset position in an item's comments ordered newest first (created DESC, id DESC):
+ * the next page starts strictly after this comment.
+ */
+public record CommentCursor(Instant created, Long id) {
+
+    public String encode() {
+        return CursorCodec.encode(created, id);
+    }
+
+    public static CommentCursor decode(String cursor) {
+        String[] parts = CursorCodec.decode(cursor, 2);
+        try {
+            return new CommentCursor(Instant.parse(parts[0]), Long.parseLong(parts[1]));
+        } catch (DateTimeParseException | NumberFormatException ex) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.item.dto;
+
+import ru.practicum.shareit.common.exception.BadRequestException;
+import ru.practicum.shareit.common.paging.CursorCodec;
+
+/**
+ * Keyset position in the owner's item listing ordered by id:
+ * the next page starts strictly after this id.
+ */
+public record ItemCursor(Long id) {
+
+    public String encode() {
+        return CursorCodec.encode(id);
+    }
+
+    public static ItemCursor decode(String cursor) {
+        String[] parts = CursorCodec.decode(cursor, 1);
+        try {
+            return new ItemCursor(Long.parseLong(parts[0]));
+        } catch (NumberFormatException ex) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
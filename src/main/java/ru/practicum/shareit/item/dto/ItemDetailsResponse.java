@@ -1,11 +1,16 @@
 package ru.practicum.shareit.item.dto;
 
+import org.springframework.lang.Nullable;
+
 import java.util.List;
 
 /**
  * Detailed item representation used in:
  * - GET /items/{itemId} (comments always; bookings if requester is the owner),
  * - GET /items (owner's list: includes last/next with comments).
+ *
+ * <p>{@code comments} holds the latest comments only, oldest first; {@code commentCount} is the total.
+ * When there are more, {@code commentsCursor} continues with the older ones in GET /items/{itemId}/comments.
  */
 public record ItemDetailsResponse(
         Long id,
@@ -14,5 +19,7 @@ public record ItemDetailsResponse(
         boolean available,
         BookingShortDto lastBooking,
         BookingShortDto nextBooking,
-        List<CommentResponse> comments
-) { }
\ No newline at end of file
+        List<CommentResponse> comments,
+        long commentCount,
+        @Nullable String commentsCursor
+) { }
@@ -40,18 +40,39 @@ public final class ItemMapper {
         if (dto.available() != null) target.setAvailable(dto.available());
     }
 
+    /**
+     * @param latestComments the item's latest comments, oldest first
+     * @param commentCount   all comments of the item; when larger, the response carries a cursor to the older ones
+     */
     public ItemDetailsResponse toDetails(Item item,
                                          @Nullable Booking last,
                                          @Nullable Booking next,
-                                         List<Comment> comments) {
+                                         List<Comment> latestComments,
+                                         long commentCount) {
+        return toDetails(item, toShort(last), toShort(next), latestComments, commentCount);
+    }
+
+    /** Same as above for last/next already read as projections. */
+    public ItemDetailsResponse toDetails(Item item,
+                                         @Nullable BookingShortDto last,
+                                         @Nullable BookingShortDto next,
+                                         List<Comment> latestComments,
+                                         long commentCount) {
+        String olderComments = null;
+        if (!latestComments.isEmpty() && commentCount > latestComments.size()) {
+            Comment oldest = latestComments.get(0);
+            olderComments = new CommentCursor(oldest.getCreated(), oldest.getId()).encode();
+        }
         return new ItemDetailsResponse(
                 item.getId(),
                 item.getName(),
                 item.getDescription(),
                 item.isAvailable(),
-                toShort(last),
-                toShort(next),
-                comments.stream().map(CommentMapper::toResponse).toList()
+                last,
+                next,
+                latestComments.stream().map(CommentMapper::toResponse).toList(),
+                commentCount,
+                olderComments
         );
     }
 
@@ -21,7 +21,7 @@ import java.time.Instant;
 @Table(
         name = "comments",
         indexes = {
-                @Index(name = "idx_comments_item", columnList = "item_id"),
+                @Index(name = "idx_comments_item_created_id", columnList = "item_id, created DESC, id DESC"),
                 @Index(name = "idx_comments_author", columnList = "author_id"),
                 @Index(name = "idx_comments_created", columnList = "created")
         }
@@ -29,7 +29,8 @@ import java.time.Instant;
 public class Comment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comments_seq")
+    @SequenceGenerator(name = "comments_seq", sequenceName = "comments_seq", allocationSize = 50)
     @EqualsAndHashCode.Include
     private Long id;
 
@@ -2,11 +2,15 @@ package ru.practicum.shareit.item.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
 /**
  * JPA entity for shareable items.
+ * Read-write cached in the Hibernate second-level cache (region {@code items});
+ * {@code owner} and {@code request} are cached as ids and resolved on access.
  */
 @Getter
 @Setter
@@ -16,11 +20,14 @@ import ru.practicum.shareit.user.model.User;
 @NoArgsConstructor
 @Builder
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "items")
 @Table(name = "items")
 public class Item {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = 50)
     @EqualsAndHashCode.Include
     private Long id;
 
@@ -1,17 +1,49 @@
 package ru.practicum.shareit.item.repo;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.item.model.Comment;
 
+import java.time.Instant;
 import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
-    /** All comments for a given item (sorted by created asc). */
-    List<Comment> findByItem_IdOrderByCreatedAsc(Long itemId);
 
-    /** Comments for many items at once to avoid N+1 when listing owner items. */
-    List<Comment> findByItem_IdInOrderByCreatedAsc(Collection<Long> itemIds);
+    /** Latest comments of an item, newest first: the first page of GET /items/{id}/comments and item details. */
+    List<Comment> findByItem_IdOrderByCreatedDescIdDesc(Long itemId, Limit limit);
+
+    /** Keyset page of an item's comments, newest first: strictly after ({@code created}, {@code id}). */
+    @Query("""
+        select c
+        from Comment c
+        where c.item.id = :itemId
+          and (c.created < :created or (c.created = :created and c.id < :id))
+        order by c.created desc, c.id desc
+        """)
+    List<Comment> findByItemBefore(@Param("itemId") Long itemId,
+                                   @Param("created") Instant created,
+                                   @Param("id") Long id,
+                                   Limit limit);
+
+    /**
+     * The latest {@code limit} comments of each item, oldest first, for a page of item details.
+     * Ranked with {@code row_number()} in the database, so only the winners are transferred.
+     */
+    @Query(value = """
+        select r.id, r.text, r.item_id, r.author_id, r.created
+        from (
+            select c.*,
+                   row_number() over (partition by c.item_id order by c.created desc, c.id desc) as rn
+            from comments c
+            where c.item_id in (:itemIds)
+        ) r
+        where r.rn <= :limit
+        order by r.created, r.id
+        """, nativeQuery = true)
+    List<Comment> findLatestForItems(@Param("itemIds") Collection<Long> itemIds, @Param("limit") int limit);
 
 }
\ No newline at end of file
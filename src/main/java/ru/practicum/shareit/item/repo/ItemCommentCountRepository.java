@@ -0,0 +1,27 @@
+package ru.practicum.shareit.item.repo;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintained number of comments per item ({@code items.comment_count}).
+ * Writers of comments keep it in step in the same transaction.
+ */
+public interface ItemCommentCountRepository {
+
+    long commentCount(Long itemId);
+
+    /** Counts of the given items; items without comments map to 0. */
+    Map<Long, Long> commentCounts(Collection<Long> itemIds);
+
+    /** Adds newly written comments, per item id. */
+    void addComments(Map<Long, Integer> addedByItem);
+
+    /**
+     * Subtracts the author's comments before they cascade away with the author.
+     *
+     * @return ids of the items whose count changed
+     */
+    List<Long> subtractCommentsOf(Long authorId);
+}
@@ -0,0 +1,67 @@
+package ru.practicum.shareit.item.repo;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * JDBC implementation of {@link ItemCommentCountRepository}. The column is not mapped on {@code Item}:
+ * through Hibernate every comment would evict the item from the second-level cache (and a JPQL
+ * bulk update the whole {@code items} region).
+ */
+@RequiredArgsConstructor
+class ItemCommentCountRepositoryImpl implements ItemCommentCountRepository {
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    @Override
+    public long commentCount(Long itemId) {
+        return jdbc.queryForList("select comment_count from items where id = :id",
+                Map.of("id", itemId), Long.class).stream().findFirst().orElse(0L);
+    }
+
+    @Override
+    public Map<Long, Long> commentCounts(Collection<Long> itemIds) {
+        Map<Long, Long> counts = new HashMap<>();
+        if (itemIds.isEmpty()) {
+            return counts;
+        }
+        jdbc.query("select id, comment_count from items where id in (:ids)", Map.of("ids", itemIds),
+                rs -> {
+                    counts.put(rs.getLong(1), rs.getLong(2));
+                });
+        return counts;
+    }
+
+    @Override
+    public void addComments(Map<Long, Integer> addedByItem) {
+        // ascending item order, so two concurrent writers lock the rows in the same order
+        jdbc.batchUpdate("update items set comment_count = comment_count + :added where id = :id",
+                new TreeMap<>(addedByItem).entrySet().stream()
+                        .map(e -> new MapSqlParameterSource("id", e.getKey()).addValue("added", e.getValue()))
+                        .toArray(SqlParameterSource[]::new));
+    }
+
+    @Override
+    public List<Long> subtractCommentsOf(Long authorId) {
+        Map<String, Object> params = Map.of("authorId", authorId);
+        List<Long> itemIds = jdbc.queryForList(
+                "select distinct item_id from comments where author_id = :authorId order by item_id", params, Long.class);
+        if (!itemIds.isEmpty()) {
+            jdbc.update("""
+                    update items
+                    set comment_count = comment_count
+                        - (select count(*) from comments c where c.item_id = items.id and c.author_id = :authorId)
+                    where id in (:ids)
+                    """, Map.of("authorId", authorId, "ids", itemIds));
+        }
+        return itemIds;
+    }
+}
@@ -1,22 +1,52 @@
 package ru.practicum.shareit.item.repo;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.item.model.Item;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
 
 /** JPA repository for items. */
-public interface ItemRepository extends JpaRepository<Item, Long> {
+public interface ItemRepository extends JpaRepository<Item, Long>, ItemCommentCountRepository {
+
+    /** Row lock on the item (SELECT ... FOR UPDATE) held until the transaction ends. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i.id from Item i where i.id = :id")
+    Optional<Long> lockById(@Param("id") Long id);
+
+    List<Item> findAllByOwner_IdOrderByIdAsc(Long ownerId, Pageable page);
+
+    /**
+     * Deletes the owner's items in one statement; their bookings and comments follow by ON DELETE CASCADE.
+     * Run before deleting the owner: unlike the database-side cascade from users, a bulk statement
+     * makes Hibernate drop the cached items and the cached queries over them.
+     */
+    @Modifying
+    @Query("delete from Item i where i.owner.id = :ownerId")
+    int deleteAllByOwnerId(@Param("ownerId") Long ownerId);
 
-    List<Item> findAllByOwner_IdOrderByIdAsc(Long ownerId);
+    /** Keyset page of the owner's items: ids strictly greater than {@code afterId}. */
+    List<Item> findAllByOwner_IdAndIdGreaterThanOrderByIdAsc(Long ownerId, Long afterId, Limit limit);
 
+    /** Items answering one request; the id list is held in the query cache until items change. */
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     List<Item> findAllByRequest_IdOrderByIdAsc(Long requestId);
 
     List<Item> findAllByRequest_IdInOrderByIdAsc(Collection<Long> requestIds);
 
+    /** Case-insensitive substring search over available items, name-prefix matches first. */
     @Query("""
            select i
            from Item i
@@ -25,6 +55,33 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
                   lower(i.name) like lower(concat('%', :q, '%'))
                or lower(i.description) like lower(concat('%', :q, '%'))
              )
+           order by
+             case
+               when lower(i.name) like lower(concat(:q, '%')) then 0
+               when lower(i.name) like lower(concat('%', :q, '%')) then 1
+               else 2
+             end,
+             i.id
            """)
-    List<Item> searchAvailable(@Param("q") String q);
-}
\ No newline at end of file
+    List<Item> searchAvailable(@Param("q") String q, Pageable page);
+
+    /**
+     * PostgreSQL-only variant of {@link #searchAvailable}: full-text and trigram GIN indexes
+     * from {@code db/migration/postgresql}, ranked by {@code ts_rank} and name similarity.
+     */
+    @Query(value = """
+           select i.*
+           from items i
+           where i.available
+             and (
+                  to_tsvector('simple', i.name || ' ' || i.description) @@ plainto_tsquery('simple', :q)
+               or lower(i.name) like concat('%', lower(:q), '%')
+               or lower(i.description) like concat('%', lower(:q), '%')
+             )
+           order by
+             ts_rank(to_tsvector('simple', i.name || ' ' || i.description), plainto_tsquery('simple', :q)) desc,
+             similarity(lower(i.name), lower(:q)) desc,
+             i.id
+           """, nativeQuery = true)
+    List<Item> searchAvailableFullText(@Param("q") String q, Pageable page);
+}
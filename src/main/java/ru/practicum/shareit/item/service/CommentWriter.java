@@ -0,0 +1,29 @@
+package ru.practicum.shareit.item.service;
+
+import ru.practicum.shareit.item.dto.CommentResponse;
+import ru.practicum.shareit.item.model.Comment;
+
+/**
+ * Stores comments accepted by {@code POST /items/{itemId}/comment} once the author, the item
+ * and the author's eligibility have been checked.
+ *
+ * <p>Implementations are selected with {@code shareit.item.comment-writes}:
+ * {@code direct} (insert in the caller's transaction, default) or
+ * {@code queued} (bounded in-process queue flushed in JDBC batches by a background writer,
+ * see {@link QueuedCommentWriter}).
+ */
+public interface CommentWriter {
+
+    /**
+     * Stores {@code comment} (text, item and author set) and returns it as the API reports it.
+     *
+     * @throws ru.practicum.shareit.common.exception.TooManyRequestsException if it cannot be accepted now
+     */
+    CommentResponse write(Comment comment);
+
+    /**
+     * Returns once every comment accepted so far from {@code authorId} is visible to reads.
+     * May block; call it outside a transaction so the wait does not hold a pooled connection.
+     */
+    void awaitWritesOf(Long authorId);
+}
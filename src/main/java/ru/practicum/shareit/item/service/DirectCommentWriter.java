@@ -0,0 +1,36 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.CommentResponse;
+import ru.practicum.shareit.item.mapper.CommentMapper;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.repo.CommentRepository;
+import ru.practicum.shareit.item.repo.ItemRepository;
+
+import java.util.Map;
+
+/** Inserts the comment in the caller's transaction; it is readable as soon as that commits. */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.item.comment-writes", havingValue = "direct", matchIfMissing = true)
+public class DirectCommentWriter implements CommentWriter {
+
+    private final CommentRepository commentRepo;
+    private final ItemRepository itemRepo;
+    private final ApplicationEventPublisher events;
+
+    @Override
+    public CommentResponse write(Comment comment) {
+        Comment saved = commentRepo.save(comment);
+        itemRepo.addComments(Map.of(saved.getItem().getId(), 1));
+        events.publishEvent(ItemChangedEvent.details(saved.getItem().getId()));
+        return CommentMapper.toResponse(saved);
+    }
+
+    @Override
+    public void awaitWritesOf(Long authorId) {
+    }
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item.service;
+
+/**
+ * Published inside the transaction that changed what {@code GET /items/{id}} returns for an item.
+ *
+ * @param ownerViewOnly {@code true} when only the owner's view (last/next booking) is affected
+ */
+public record ItemChangedEvent(Long itemId, boolean ownerViewOnly) {
+
+    /** Item fields or comments changed: every view is stale. */
+    public static ItemChangedEvent details(Long itemId) {
+        return new ItemChangedEvent(itemId, false);
+    }
+
+    /** Bookings of the item changed: only the owner's view is stale. */
+    public static ItemChangedEvent bookings(Long itemId) {
+        return new ItemChangedEvent(itemId, true);
+    }
+}
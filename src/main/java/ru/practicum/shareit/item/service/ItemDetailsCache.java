@@ -0,0 +1,133 @@
+package ru.practicum.shareit.item.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.dto.ItemDetailsResponse;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of assembled {@code GET /items/{id}} responses.
+ *
+ * <p>Each item has up to two entries: the public view (no bookings, shared by every
+ * non-owner) and the owner view with last/next booking. Entries live for {@code ttl};
+ * an owner view expires earlier, when its next booking starts and "last"/"next" shift.
+ *
+ * <p>Entries are dropped after commit of any transaction that published an
+ * {@link ItemChangedEvent} for the item. Loads run outside of the cache's atomic compute
+ * (a DB round trip must not hold a map bin lock, which would also pin a virtual thread);
+ * a loaded value is published only if its key was not invalidated meanwhile. Invalidations are
+ * counted per key in a fixed array of stripes, so a write to one item does not discard concurrent
+ * loads of others (only those of keys sharing its stripe).
+ * Author renames are not tracked and become visible in comments after {@code ttl}.
+ */
+@Component
+public class ItemDetailsCache implements MeterBinder {
+
+    private static final int VERSION_STRIPES = 1024;
+
+    private final boolean enabled;
+    private final Cache<Key, Entry> cache;
+    /** Invalidations per stripe of keys, bumped before each one; lets a concurrent load of the key detect it may be stale. */
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+
+    public ItemDetailsCache(@Value("${shareit.item.details-cache.enabled:true}") boolean enabled,
+                            @Value("${shareit.item.details-cache.max-size:10000}") long maxSize,
+                            @Value("${shareit.item.details-cache.ttl:5m}") Duration ttl) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new EntryExpiry(ttl))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Cached view of the item, loaded with {@code loader} on a miss.
+     * Exceptions of the loader (e.g. item not found) propagate and nothing is cached.
+     */
+    public Entry get(Long itemId, boolean ownerView, Supplier<Entry> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        Key key = new Key(itemId, ownerView);
+        Entry cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        int stripe = key.stripe();
+        long stamp = versions.get(stripe);
+        Entry loaded = loader.get();
+        cache.asMap().compute(key, (k, current) ->
+                current != null ? current : (versions.get(stripe) == stamp ? loaded : null));
+        return loaded;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        Key owner = new Key(event.itemId(), true);
+        if (event.ownerViewOnly()) {
+            invalidate(List.of(owner));
+        } else {
+            invalidate(List.of(new Key(event.itemId(), false), owner));
+        }
+    }
+
+    private void invalidate(List<Key> keys) {
+        keys.forEach(k -> versions.incrementAndGet(k.stripe()));
+        cache.invalidateAll(keys);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "itemDetails");
+    }
+
+    private record Key(Long itemId, boolean ownerView) {
+
+        int stripe() {
+            return (Long.hashCode(itemId) * 2 + (ownerView ? 1 : 0)) & (VERSION_STRIPES - 1);
+        }
+    }
+
+    /**
+     * Cached response with the item owner (to pick the view without touching the DB).
+     *
+     * @param validUntil moment the response goes stale regardless of writes, or {@code null}
+     */
+    public record Entry(Long ownerId, ItemDetailsResponse details, @Nullable Instant validUntil) {}
+
+    private record EntryExpiry(Duration ttl) implements Expiry<Key, Entry> {
+
+        @Override
+        public long expireAfterCreate(Key key, Entry entry, long currentTime) {
+            if (entry.validUntil() == null) {
+                return ttl.toNanos();
+            }
+            Duration untilStale = Duration.between(Instant.now(), entry.validUntil());
+            return untilStale.compareTo(ttl) < 0 ? Math.max(0, untilStale.toNanos()) : ttl.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(Key key, Entry entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Key key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.item.service;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+/**
+ * Text search over available items behind {@code GET /items/search}.
+ *
+ * <p>Implementations are selected with {@code shareit.item.search}:
+ * {@code postgres} (full-text + trigram indexes from {@code db/migration/postgresql};
+ * what {@code application.properties} ships with its PostgreSQL datasource) or
+ * {@code like} (portable substring match; used with H2 in tests and when the property is unset).
+ * Both match the text as a case-insensitive substring of name or description and
+ * return the best matches first; the indexes are maintained by the database,
+ * so created and patched items are searchable as soon as their transaction commits.
+ */
+public interface ItemSearchBackend {
+
+    /**
+     * One page of available items matching {@code text}, best matches first.
+     *
+     * @param text trimmed, non-blank search text
+     */
+    List<Item> search(String text, Pageable page);
+}
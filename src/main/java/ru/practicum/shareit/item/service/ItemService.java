@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.service;
 
+import ru.practicum.shareit.common.paging.CursorPage;
 import ru.practicum.shareit.item.dto.*;
 
 import java.util.List;
@@ -11,11 +12,22 @@ public interface ItemService {
 
     ItemDetailsResponse get(Long requesterId, Long itemId);
 
+    /** Every item of the owner, by id. */
     List<ItemDetailsResponse> listOwnerItems(Long ownerId);
 
+    /** One page of the owner's items, by id. */
+    List<ItemDetailsResponse> listOwnerItems(Long ownerId, int from, int size);
+
+    /** Keyset variant of {@link #listOwnerItems}; {@code cursor} is null or empty for the first page. */
+    CursorPage<ItemDetailsResponse> listOwnerItemsByCursor(Long ownerId, String cursor, int size);
+
     ItemResponse patch(Long ownerId, Long itemId, ItemUpdateDto dto);
 
-    List<ItemResponse> search(String text);
+    /** Available items matching {@code text}, best matches first; blank text yields an empty list. */
+    List<ItemResponse> search(String text, int from, int size);
+
+    /** Keyset page of the item's comments, newest first; {@code cursor} is null or empty for the first page. */
+    CursorPage<CommentResponse> listComments(Long itemId, String cursor, int size);
 
     CommentResponse addComment(Long userId, Long itemId, CommentCreateDto dto);
 }
\ No newline at end of file
@@ -1,14 +1,21 @@
 package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repo.BookingEdgeView;
 import ru.practicum.shareit.booking.repo.BookingRepository;
+import ru.practicum.shareit.booking.service.CommentEligibilityStore;
 import ru.practicum.shareit.common.exception.BadRequestException;
 import ru.practicum.shareit.common.exception.ForbiddenException;
 import ru.practicum.shareit.common.exception.NotFoundException;
+import ru.practicum.shareit.common.paging.CursorPage;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
@@ -19,6 +26,7 @@ import ru.practicum.shareit.item.repo.ItemRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repo.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceCache;
 
 import java.time.Instant;
 import java.util.*;
@@ -29,11 +37,20 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class ItemServiceImpl implements ItemService {
 
+    /** Latest comments embedded in item details; older ones are paged through GET /items/{id}/comments. */
+    static final int DETAILS_COMMENTS = 10;
+
     private final ItemRepository itemRepo;
     private final UserRepository userRepo;
+    private final UserExistenceCache userExistence;
     private final BookingRepository bookingRepo;
+    private final CommentEligibilityStore eligibility;
     private final CommentRepository commentRepo;
+    private final CommentWriter commentWriter;
     private final ItemMapper mapper;
+    private final ItemSearchBackend searchBackend;
+    private final ItemDetailsCache detailsCache;
+    private final ApplicationEventPublisher events;
 
     @Override
     @Transactional
@@ -47,16 +64,27 @@ public class ItemServiceImpl implements ItemService {
 
     @Override
     public ItemDetailsResponse get(Long requesterId, Long itemId) {
+        ItemDetailsCache.Entry view = detailsCache.get(itemId, false, () -> loadDetails(itemId, false));
+        if (requesterId == null || !requesterId.equals(view.ownerId())) {
+            return view.details();
+        }
+        return detailsCache.get(itemId, true, () -> loadDetails(itemId, true)).details();
+    }
+
+    /** Assembles the public view or the owner view (with last/next APPROVED booking). */
+    private ItemDetailsCache.Entry loadDetails(Long itemId, boolean ownerView) {
         Item item = itemRepo.findById(itemId)
                 .orElseThrow(() -> new NotFoundException("item not found"));
 
-        List<Comment> comments = commentRepo.findByItem_IdOrderByCreatedAsc(itemId);
+        List<Comment> comments = commentRepo.findByItem_IdOrderByCreatedDescIdDesc(itemId, Limit.of(DETAILS_COMMENTS))
+                .reversed();
+        long commentCount = itemRepo.commentCount(itemId);
 
-        boolean isOwner = item.getOwner() != null && Objects.equals(item.getOwner().getId(), requesterId);
+        Long ownerId = item.getOwner() != null ? item.getOwner().getId() : null;
 
         Booking last = null;
         Booking next = null;
-        if (isOwner) {
+        if (ownerView) {
             Instant now = Instant.now();
             last = bookingRepo.findTopByItem_IdAndStatusAndStartBeforeOrderByStartDesc(
                     itemId, BookingStatus.APPROVED, now).orElse(null);
@@ -64,48 +92,62 @@ public class ItemServiceImpl implements ItemService {
                     itemId, BookingStatus.APPROVED, now).orElse(null);
         }
 
-        return mapper.toDetails(item, last, next, comments);
+        // once the next booking starts it becomes "last", so the owner view goes stale then
+        return new ItemDetailsCache.Entry(ownerId, mapper.toDetails(item, last, next, comments, commentCount),
+                next != null ? next.getStart() : null);
     }
 
     @Override
     public List<ItemDetailsResponse> listOwnerItems(Long ownerId) {
-        if (!userRepo.existsById(ownerId)) {
-            throw new NotFoundException("user not found");
+        ensureUserExists(ownerId);
+        return toDetailsPage(itemRepo.findAllByOwner_IdOrderByIdAsc(ownerId, Pageable.unpaged()));
+    }
+
+    @Override
+    public List<ItemDetailsResponse> listOwnerItems(Long ownerId, int from, int size) {
+        ensureUserExists(ownerId);
+        return toDetailsPage(itemRepo.findAllByOwner_IdOrderByIdAsc(ownerId, PageRequest.of(from / size, size)));
+    }
+
+    @Override
+    public CursorPage<ItemDetailsResponse> listOwnerItemsByCursor(Long ownerId, String cursor, int size) {
+        ensureUserExists(ownerId);
+        long afterId = (cursor == null || cursor.isBlank()) ? 0L : ItemCursor.decode(cursor).id();
+        List<Item> data = itemRepo.findAllByOwner_IdAndIdGreaterThanOrderByIdAsc(ownerId, afterId, Limit.of(size + 1));
+        if (data.size() <= size) {
+            return new CursorPage<>(toDetailsPage(data), null);
         }
+        List<Item> page = data.subList(0, size);
+        return new CursorPage<>(toDetailsPage(page), new ItemCursor(page.get(size - 1).getId()).encode());
+    }
 
-        List<Item> items = itemRepo.findAllByOwner_IdOrderByIdAsc(ownerId);
+    /** Details of one page of items; comments and last/next bookings are loaded for this page only. */
+    private List<ItemDetailsResponse> toDetailsPage(List<Item> items) {
         if (items.isEmpty()) {
             return List.of();
         }
 
         List<Long> itemIds = items.stream().map(Item::getId).toList();
-        List<Comment> allComments = commentRepo.findByItem_IdInOrderByCreatedAsc(itemIds);
+        List<Comment> allComments = commentRepo.findLatestForItems(itemIds, DETAILS_COMMENTS);
         Map<Long, List<Comment>> commentsByItem =
                 allComments.stream().collect(Collectors.groupingBy(c -> c.getItem().getId(), Collectors.toList()));
-
-        Instant now = Instant.now();
-
-        List<Booking> lastAll = bookingRepo.findAllLastForItems(itemIds, BookingStatus.APPROVED, now);
-        Map<Long, Booking> lastByItem = new HashMap<>();
-        for (Booking b : lastAll) {
-            Long id = b.getItem().getId();
-            lastByItem.putIfAbsent(id, b); // первый в списке — самый "последний"
-        }
-
-        List<Booking> nextAll = bookingRepo.findAllNextForItems(itemIds, BookingStatus.APPROVED, now);
-        Map<Long, Booking> nextByItem = new HashMap<>();
-        for (Booking b : nextAll) {
-            Long id = b.getItem().getId();
-            nextByItem.putIfAbsent(id, b); // первый в списке — самый ближний
+        Map<Long, Long> commentCounts = itemRepo.commentCounts(itemIds);
+
+        Map<Long, BookingShortDto> lastByItem = new HashMap<>();
+        Map<Long, BookingShortDto> nextByItem = new HashMap<>();
+        for (BookingEdgeView e : bookingRepo.findLastAndNextForItems(
+                itemIds, BookingStatus.APPROVED.name(), Instant.now())) {
+            var dto = new BookingShortDto(e.getId(), e.getBookerId(), e.getStart(), e.getEnd());
+            (e.isLast() ? lastByItem : nextByItem).put(e.getItemId(), dto);
         }
 
         List<ItemDetailsResponse> out = new ArrayList<>(items.size());
         for (Item it : items) {
             Long id = it.getId();
-            Booking last = lastByItem.get(id);
-            Booking next = nextByItem.get(id);
+            BookingShortDto last = lastByItem.get(id);
+            BookingShortDto next = nextByItem.get(id);
             List<Comment> comments = commentsByItem.getOrDefault(id, List.of());
-            out.add(mapper.toDetails(it, last, next, comments));
+            out.add(mapper.toDetails(it, last, next, comments, commentCounts.getOrDefault(id, 0L)));
         }
         return out;
     }
@@ -121,16 +163,37 @@ public class ItemServiceImpl implements ItemService {
         }
         mapper.patch(existing, dto);
         Item updated = itemRepo.save(existing);
+        events.publishEvent(ItemChangedEvent.details(itemId));
         return mapper.toResponse(updated);
     }
 
     @Override
-    public List<ItemResponse> search(String text) {
+    public List<ItemResponse> search(String text, int from, int size) {
         if (text == null || text.isBlank()) return List.of();
-        return itemRepo.searchAvailable(text.trim())
+        return searchBackend.search(text.trim(), PageRequest.of(from / size, size))
                 .stream().map(mapper::toResponse).toList();
     }
 
+    @Override
+    public CursorPage<CommentResponse> listComments(Long itemId, String cursor, int size) {
+        itemRepo.findById(itemId).orElseThrow(() -> new NotFoundException("item not found"));
+
+        List<Comment> data;
+        if (cursor == null || cursor.isBlank()) {
+            data = commentRepo.findByItem_IdOrderByCreatedDescIdDesc(itemId, Limit.of(size + 1));
+        } else {
+            CommentCursor after = CommentCursor.decode(cursor);
+            data = commentRepo.findByItemBefore(itemId, after.created(), after.id(), Limit.of(size + 1));
+        }
+        if (data.size() <= size) {
+            return new CursorPage<>(data.stream().map(CommentMapper::toResponse).toList(), null);
+        }
+        List<Comment> page = data.subList(0, size);
+        Comment last = page.get(size - 1);
+        return new CursorPage<>(page.stream().map(CommentMapper::toResponse).toList(),
+                new CommentCursor(last.getCreated(), last.getId()).encode());
+    }
+
     @Override
     @Transactional
     public CommentResponse addComment(Long userId, Long itemId, CommentCreateDto dto) {
@@ -139,12 +202,16 @@ public class ItemServiceImpl implements ItemService {
         Item item = itemRepo.findById(itemId)
                 .orElseThrow(() -> new NotFoundException("item not found"));
 
-        boolean allowed = bookingRepo.hasFinishedApprovedBooking(userId, itemId, Instant.now());
-        if (!allowed) {
+        if (!eligibility.canComment(userId, itemId, Instant.now())) {
             throw new BadRequestException("user has not completed an approved booking of this item");
         }
 
-        Comment saved = commentRepo.save(CommentMapper.toEntity(dto, item, author));
-        return CommentMapper.toResponse(saved);
+        return commentWriter.write(CommentMapper.toEntity(dto, item, author));
+    }
+
+    private void ensureUserExists(Long userId) {
+        if (!userExistence.exists(userId)) {
+            throw new NotFoundException("user not found");
+        }
     }
-}
\ No newline at end of file
+}
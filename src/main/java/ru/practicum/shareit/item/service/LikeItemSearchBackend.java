@@ -0,0 +1,27 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repo.ItemRepository;
+
+import java.util.List;
+
+/**
+ * Portable search: {@code lower(...) like %text%} ranked by where the text was found
+ * (name prefix, then name, then description only).
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.item.search", havingValue = "like", matchIfMissing = true)
+public class LikeItemSearchBackend implements ItemSearchBackend {
+
+    private final ItemRepository itemRepo;
+
+    @Override
+    public List<Item> search(String text, Pageable page) {
+        return itemRepo.searchAvailable(text, page);
+    }
+}
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repo.ItemRepository;
+
+import java.util.List;
+
+/**
+ * PostgreSQL search served by the GIN indexes of {@code db/migration/postgresql}:
+ * full-text match ranked with {@code ts_rank}, trigram indexes keep the substring
+ * semantics of the {@code like} backend without a sequential scan.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.item.search", havingValue = "postgres")
+public class PostgresItemSearchBackend implements ItemSearchBackend {
+
+    private final ItemRepository itemRepo;
+
+    @Override
+    public List<Item> search(String text, Pageable page) {
+        return itemRepo.searchAvailableFullText(text, page);
+    }
+}
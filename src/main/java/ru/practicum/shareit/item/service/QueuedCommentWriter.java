@@ -0,0 +1,312 @@
+package ru.practicum.shareit.item.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.common.exception.TooManyRequestsException;
+import ru.practicum.shareit.item.dto.CommentResponse;
+import ru.practicum.shareit.item.mapper.CommentMapper;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.repo.ItemRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Accepts comments into a bounded in-process queue and answers at once; a background thread
+ * inserts them in JDBC batches, one transaction per batch. Whatever piled up while the previous
+ * batch was written goes into the next one, so batches grow with the load and an idle writer adds
+ * no delay. A full queue rejects the comment with 429 instead of blocking the request thread.
+ *
+ * <p>Ids are taken from {@code comments_seq} in blocks of its increment (the same pooled-lo scheme
+ * Hibernate uses), so the response carries the final id and creation time. The author reads their
+ * own comments: {@link #awaitWritesOf} waits for the author's last queued comment, at most
+ * {@code author-wait}, and is called before any transaction of the read is opened. Others see a
+ * comment once its batch commits ({@code GET /items/{id}} is invalidated by the batch's
+ * {@link ItemChangedEvent}).
+ *
+ * <p>Accepted comments live in memory only until flushed: they are written on shutdown, but lost
+ * if the process dies. A comment that violates a constraint (its item or author was deleted in
+ * between) is dropped and logged. Any other failure (no connection, a lost connection) keeps the
+ * rows and retries them with a backoff doubling up to {@value #MAX_BACKOFF_MILLIS} ms, ahead of newer
+ * comments; only a failure during shutdown drops them.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.item.comment-writes", havingValue = "queued")
+public class QueuedCommentWriter implements CommentWriter, MeterBinder {
+
+    private static final String INSERT =
+            "insert into comments (id, text, item_id, author_id, created) values (?, ?, ?, ?, ?)";
+    private static final String NEXT_ID_BLOCK = "select nextval('comments_seq')";
+    /** INCREMENT BY of comments_seq, also the allocationSize of {@link Comment#getId()}. */
+    private static final int ID_BLOCK_SIZE = 50;
+    private static final long POLL_MILLIS = 100;
+    private static final long MIN_BACKOFF_MILLIS = 100;
+    private static final long MAX_BACKOFF_MILLIS = 5_000;
+
+    private final JdbcTemplate jdbc;
+    private final ItemRepository itemRepo;
+    private final TransactionTemplate tx;
+    private final ApplicationEventPublisher events;
+    private final BlockingQueue<Pending> queue;
+    private final int batchSize;
+    private final long authorWaitMillis;
+
+    /** Last queued comment per author; removed once flushed. */
+    private final Map<Long, Pending> lastByAuthor = new ConcurrentHashMap<>();
+    /** Makes the capacity check and the add one step, and orders them with {@link #stop}. */
+    private final ReentrantLock enqueueLock = new ReentrantLock();
+    /** Current block of comment ids; replaced, never refilled, when used up. */
+    private final AtomicReference<IdBlock> ids = new AtomicReference<>(new IdBlock(0, 0));
+
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+
+    private final Thread flusher;
+    private volatile boolean stopping;
+
+    public QueuedCommentWriter(JdbcTemplate jdbc,
+                               ItemRepository itemRepo,
+                               TransactionTemplate tx,
+                               ApplicationEventPublisher events,
+                               @Value("${shareit.item.comment-queue.capacity:10000}") int capacity,
+                               @Value("${shareit.item.comment-queue.batch-size:500}") int batchSize,
+                               @Value("${shareit.item.comment-queue.author-wait:5s}") Duration authorWait) {
+        this.jdbc = jdbc;
+        this.itemRepo = itemRepo;
+        this.tx = tx;
+        this.events = events;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.authorWaitMillis = authorWait.toMillis();
+        this.flusher = new Thread(this::run, "comment-writer");
+        this.flusher.setDaemon(true);
+    }
+
+    private record IdBlock(AtomicLong next, long limit) {
+        IdBlock(long next, long limit) {
+            this(new AtomicLong(next), limit);
+        }
+    }
+
+    private record Pending(long id, String text, long itemId, long authorId, Instant created,
+                           CompletableFuture<Void> flushed) {
+    }
+
+    @PostConstruct
+    public void start() {
+        flusher.start();
+    }
+
+    /** Stops accepting, writes what is queued and waits for the writer to finish. */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        enqueueLock.lock();
+        try {
+            stopping = true;
+        } finally {
+            enqueueLock.unlock();
+        }
+        flusher.join();
+    }
+
+    @Override
+    public CommentResponse write(Comment comment) {
+        long id = nextId(); // may go to the database, so before taking the lock
+        Pending pending;
+        enqueueLock.lock();
+        try {
+            if (stopping) {
+                throw new TooManyRequestsException("comment writer is shutting down, retry later");
+            }
+            if (queue.remainingCapacity() == 0) {
+                rejected.incrementAndGet();
+                throw new TooManyRequestsException("too many comments queued, retry later");
+            }
+            pending = new Pending(id, comment.getText(), comment.getItem().getId(),
+                    comment.getAuthor().getId(), Instant.now(), new CompletableFuture<>());
+            lastByAuthor.put(pending.authorId(), pending);
+            queue.add(pending); // only this lock adds, so the capacity check above holds
+        } finally {
+            enqueueLock.unlock();
+        }
+
+        comment.setId(pending.id());
+        comment.setCreated(pending.created());
+        return CommentMapper.toResponse(comment);
+    }
+
+    @Override
+    public void awaitWritesOf(Long authorId) {
+        Pending last = lastByAuthor.get(authorId);
+        if (last == null) {
+            return;
+        }
+        try {
+            last.flushed().get(authorWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException ex) {
+            log.warn("Comment {} of user {} not flushed within {} ms", last.id(), authorId, authorWaitMillis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Next id of the current block. A caller that finds it used up takes a new block from the sequence
+     * without holding any lock and installs it; if another caller installed one first, the new block
+     * serves only this caller's id and the rest of it is skipped (a gap, as after a restart).
+     */
+    private long nextId() {
+        IdBlock block = ids.get();
+        long id = block.next().getAndIncrement();
+        if (id < block.limit()) {
+            return id;
+        }
+        Long low = jdbc.queryForObject(NEXT_ID_BLOCK, Long.class);
+        ids.compareAndSet(block, new IdBlock(low + 1, low + ID_BLOCK_SIZE));
+        return low;
+    }
+
+    private void run() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        long backoff = 0;
+        while (!stopping || !queue.isEmpty() || !batch.isEmpty()) {
+            try {
+                if (backoff > 0 && !stopping) {
+                    Thread.sleep(backoff);
+                }
+                if (batch.isEmpty()) {
+                    Pending first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                }
+                flush(batch);
+            } catch (InterruptedException ex) {
+                stopping = true;
+                continue; // one last attempt for a pending batch, without the backoff
+            }
+            if (batch.isEmpty()) {
+                backoff = 0;
+            } else if (stopping) {
+                dropped.addAndGet(batch.size());
+                log.error("Comment writer stopped with {} comments it could not write", batch.size());
+                batch.forEach(this::release);
+                batch.clear();
+            } else {
+                retries.incrementAndGet();
+                backoff = Math.min(MAX_BACKOFF_MILLIS, Math.max(MIN_BACKOFF_MILLIS, backoff * 2));
+            }
+        }
+    }
+
+    /**
+     * Writes {@code batch} and removes the written and the dropped rows from it; rows hit by a
+     * transient failure stay in it for a retry.
+     */
+    private void flush(List<Pending> batch) {
+        try {
+            tx.executeWithoutResult(status -> insert(batch));
+            written.addAndGet(batch.size());
+            batches.incrementAndGet();
+            batch.forEach(this::release);
+            batch.clear();
+            return;
+        } catch (DataIntegrityViolationException ex) {
+            // one bad row (its item or author deleted meanwhile) must not lose the rest of the batch
+        } catch (RuntimeException ex) {
+            log.warn("Comment batch of {} not written, will retry: {}", batch.size(), ex.getMessage());
+            return;
+        }
+        for (Iterator<Pending> it = batch.iterator(); it.hasNext(); ) {
+            Pending p = it.next();
+            try {
+                tx.executeWithoutResult(status -> insert(List.of(p)));
+                written.incrementAndGet();
+            } catch (DataIntegrityViolationException rowEx) {
+                dropped.incrementAndGet();
+                log.warn("Dropping comment {} of user {} on item {}: {}",
+                        p.id(), p.authorId(), p.itemId(), rowEx.getMostSpecificCause().getMessage());
+            } catch (RuntimeException rowEx) {
+                log.warn("Comment {} not written, will retry: {}", p.id(), rowEx.getMessage());
+                return;
+            }
+            release(p);
+            it.remove();
+        }
+        batches.incrementAndGet();
+    }
+
+    private void insert(List<Pending> rows) {
+        jdbc.batchUpdate(INSERT, rows, rows.size(), (ps, p) -> {
+            ps.setLong(1, p.id());
+            ps.setString(2, p.text());
+            ps.setLong(3, p.itemId());
+            ps.setLong(4, p.authorId());
+            ps.setObject(5, p.created().atOffset(ZoneOffset.UTC)); // bound like Hibernate binds Instant
+        });
+        Map<Long, Integer> added = rows.stream().collect(Collectors.toMap(Pending::itemId, p -> 1, Integer::sum));
+        itemRepo.addComments(added);
+        added.keySet().forEach(itemId -> events.publishEvent(ItemChangedEvent.details(itemId)));
+    }
+
+    private void release(Pending p) {
+        p.flushed().complete(null);
+        lastByAuthor.remove(p.authorId(), p);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("shareit.comments.queue.size", queue, BlockingQueue::size)
+                .description("Comments accepted but not yet written")
+                .register(registry);
+        FunctionCounter.builder("shareit.comments.written", written, AtomicLong::get)
+                .description("Queued comments written to the database")
+                .register(registry);
+        FunctionCounter.builder("shareit.comments.batches", batches, AtomicLong::get)
+                .description("Batches (transactions) written by the comment writer")
+                .register(registry);
+        FunctionCounter.builder("shareit.comments.rejected", rejected, AtomicLong::get)
+                .description("Comments rejected with 429 because the queue was full")
+                .register(registry);
+        FunctionCounter.builder("shareit.comments.retries", retries, AtomicLong::get)
+                .description("Write attempts of the comment writer that failed transiently and were retried")
+                .register(registry);
+        FunctionCounter.builder("shareit.comments.dropped", dropped, AtomicLong::get)
+                .description("Queued comments that could not be written")
+                .register(registry);
+    }
+}
@@ -14,9 +14,12 @@ import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repo.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repo.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceCache;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -26,6 +29,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestRepository requestRepo;
     private final ItemRepository itemRepo;
     private final UserRepository userRepo;
+    private final UserExistenceCache userExistence;
     private final ItemRequestMapper mapper;
 
     @Override
@@ -63,17 +67,21 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         return mapper.toResponse(req, items);
     }
 
+    /** Loads items of all requests with one query and groups them by request id. */
     private List<ItemRequestResponse> attachItems(List<ItemRequest> requests) {
+        if (requests.isEmpty()) return List.of();
+
+        List<Long> ids = requests.stream().map(ItemRequest::getId).toList();
+        Map<Long, List<Item>> itemsByRequest = itemRepo.findAllByRequest_IdInOrderByIdAsc(ids).stream()
+                .collect(Collectors.groupingBy(i -> i.getRequest().getId()));
+
         return requests.stream()
-                .map(r -> mapper.toResponse(
-                        r,
-                        itemRepo.findAllByRequest_IdOrderByIdAsc(r.getId())
-                ))
+                .map(r -> mapper.toResponse(r, itemsByRequest.getOrDefault(r.getId(), List.of())))
                 .toList();
     }
 
     private void ensureUserExists(Long userId) {
-        if (!userRepo.existsById(userId)) {
+        if (!userExistence.exists(userId)) {
             throw new NotFoundException("user not found");
         }
     }
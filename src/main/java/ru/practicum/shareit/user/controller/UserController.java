@@ -1,25 +1,36 @@
 package ru.practicum.shareit.user.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.user.dto.UserCreateDto;
 import ru.practicum.shareit.user.dto.UserResponse;
 import ru.practicum.shareit.user.dto.UserUpdateDto;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 /**
  * @apiNote REST controller for User CRUD operations.
  */
+@Validated
 @RestController
 @RequestMapping("/users")
 @RequiredArgsConstructor
 public class UserController {
 
     private final UserService service;
+    private final ObjectMapper objectMapper;
 
     /**
      * @apiNote Create a user.
@@ -40,11 +51,33 @@ public class UserController {
     }
 
     /**
-     * @apiNote List all users.
+     * @apiNote List users. Without {@code from}/{@code size} returns all users (legacy behaviour);
+     * with either of them returns one page ordered by id ({@code from}=0, {@code size}=20 by default).
      */
     @GetMapping
-    public List<UserResponse> list() {
-        return service.list();
+    public List<UserResponse> list(@RequestParam(name = "from", required = false) @PositiveOrZero Integer from,
+                                   @RequestParam(name = "size", required = false) @Positive      Integer size) {
+        if (from == null && size == null) {
+            return service.list();
+        }
+        return service.list(from == null ? 0 : from, size == null ? 20 : size);
+    }
+
+    /**
+     * @apiNote Export all users as NDJSON (one JSON object per line), ordered by id.
+     * @implNote Rows are streamed from a DB cursor straight to the response; memory use does not grow with the table.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export() {
+        StreamingResponseBody body = out -> service.export(user -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(user));
+                out.write('\n');
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     /**
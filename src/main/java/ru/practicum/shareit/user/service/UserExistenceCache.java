@@ -0,0 +1,76 @@
+package ru.practicum.shareit.user.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.common.tx.TransactionCallbacks;
+import ru.practicum.shareit.user.repo.UserRepository;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of user ids known to exist, in front of the {@code existsById} check of the
+ * {@code X-Sharer-User-Id} user that nearly every service call starts with.
+ *
+ * <p>Only hits are cached: an unknown id always goes to the DB, so a user created on any
+ * instance is seen at once and creation needs no invalidation. Ids come from a sequence and
+ * are never reused, so an entry only goes stale when its user is deleted; {@link #evictAfterCommit}
+ * drops it when the deleting transaction commits (deletes on another instance show after {@code ttl}).
+ * As in {@code ItemDetailsCache}, a load racing with an eviction is not published.
+ */
+@Component
+public class UserExistenceCache implements MeterBinder {
+
+    private final UserRepository repo;
+    private final boolean enabled;
+    private final Cache<Long, Boolean> known;
+    /** Bumped before every eviction; lets a concurrent load detect it may be stale. */
+    private final AtomicLong evictions = new AtomicLong();
+
+    public UserExistenceCache(UserRepository repo,
+                              @Value("${shareit.user.existence-cache.enabled:true}") boolean enabled,
+                              @Value("${shareit.user.existence-cache.max-size:100000}") long maxSize,
+                              @Value("${shareit.user.existence-cache.ttl:10m}") Duration ttl) {
+        this.repo = repo;
+        this.enabled = enabled;
+        this.known = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public boolean exists(Long userId) {
+        if (!enabled) {
+            return repo.existsById(userId);
+        }
+        if (known.getIfPresent(userId) != null) {
+            return true;
+        }
+        long stamp = evictions.get();
+        boolean exists = repo.existsById(userId);
+        if (exists) {
+            known.asMap().compute(userId, (id, current) ->
+                    current != null ? current : (evictions.get() == stamp ? Boolean.TRUE : null));
+        }
+        return exists;
+    }
+
+    /** Forgets the user once the current transaction commits (at once without one). */
+    public void evictAfterCommit(Long userId) {
+        TransactionCallbacks.afterCommit(() -> {
+            evictions.incrementAndGet();
+            known.invalidate(userId);
+        });
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, known, "userExistence");
+    }
+}
@@ -5,6 +5,7 @@ import ru.practicum.shareit.user.dto.UserResponse;
 import ru.practicum.shareit.user.dto.UserUpdateDto;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Use-case API for managing users.
@@ -17,6 +18,12 @@ public interface UserService {
 
     List<UserResponse> list();
 
+    /** One page of users ordered by id. */
+    List<UserResponse> list(int from, int size);
+
+    /** Feeds every user, ordered by id, to {@code sink} without materialising the whole table. */
+    void export(Consumer<UserResponse> sink);
+
     UserResponse patch(Long id, UserUpdateDto dto);
 
     void delete(Long id);
@@ -1,10 +1,17 @@
 package ru.practicum.shareit.user.service;
 
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.service.BookingOverlapIndex;
 import ru.practicum.shareit.common.exception.ConflictException;
 import ru.practicum.shareit.common.exception.NotFoundException;
+import ru.practicum.shareit.item.repo.ItemRepository;
+import ru.practicum.shareit.item.service.ItemChangedEvent;
 import ru.practicum.shareit.user.dto.UserCreateDto;
 import ru.practicum.shareit.user.dto.UserResponse;
 import ru.practicum.shareit.user.dto.UserUpdateDto;
@@ -13,6 +20,8 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repo.UserRepository;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -20,7 +29,12 @@ import java.util.List;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository repo;
+    private final ItemRepository itemRepo;
     private final UserMapper mapper;
+    private final EntityManager entityManager;
+    private final UserExistenceCache existence;
+    private final ApplicationEventPublisher events;
+    private final BookingOverlapIndex overlapIndex;
 
     @Override
     @Transactional
@@ -47,6 +61,23 @@ public class UserServiceImpl implements UserService {
                 .toList();
     }
 
+    @Override
+    public List<UserResponse> list(int from, int size) {
+        return repo.findAll(PageRequest.of(from / size, size, Sort.by("id"))).stream()
+                .map(mapper::toResponse)
+                .toList();
+    }
+
+    @Override
+    public void export(Consumer<UserResponse> sink) {
+        try (Stream<User> users = repo.streamAllByOrderById()) {
+            users.forEach(u -> {
+                sink.accept(mapper.toResponse(u));
+                entityManager.detach(u); // keep the persistence context from growing with the export
+            });
+        }
+    }
+
     @Override
     @Transactional
     public UserResponse patch(Long id, UserUpdateDto dto) {
@@ -74,6 +105,11 @@ public class UserServiceImpl implements UserService {
         if (!repo.existsById(id)) {
             throw new NotFoundException("User not found: " + id);
         }
+        // the user's comments cascade away with them: take them off the item counts and details first
+        itemRepo.subtractCommentsOf(id).forEach(itemId -> events.publishEvent(ItemChangedEvent.details(itemId)));
+        overlapIndex.untrackBooker(id); // their bookings cascade away too
+        itemRepo.deleteAllByOwnerId(id); // not left to ON DELETE CASCADE: evicts them from the second-level cache
         repo.deleteById(id);
+        existence.evictAfterCommit(id);
     }
 }
\ No newline at end of file
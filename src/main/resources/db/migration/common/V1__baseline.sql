@@ -0,0 +1,102 @@
+-- Baseline: the schema previously created by schema.sql at every start.
+-- Databases that already have it are baselined at version 1 (spring.flyway.baseline-on-migrate).
+
+-- ID SEQUENCES
+-- Hibernate reserves blocks of 50 ids per nextval (pooled-lo optimizer), so inserts can be JDBC-batched.
+-- Plain SQL inserts fall back to the column default and consume one value each.
+CREATE SEQUENCE users_seq         START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE item_requests_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE items_seq         START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE bookings_seq      START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE comments_seq      START WITH 1 INCREMENT BY 50;
+
+-- USERS
+CREATE TABLE users (
+    id    BIGINT DEFAULT nextval('users_seq') PRIMARY KEY,
+    name  VARCHAR(255) NOT NULL,
+    email VARCHAR(512) NOT NULL UNIQUE
+);
+
+CREATE TABLE item_requests (
+    id           BIGINT DEFAULT nextval('item_requests_seq') PRIMARY KEY,
+    description  TEXT      NOT NULL,
+    requester_id BIGINT    NOT NULL,
+    created      TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_request_user
+        FOREIGN KEY (requester_id)
+        REFERENCES users(id)
+        ON DELETE CASCADE
+);
+
+CREATE INDEX idx_item_requests_requester ON item_requests(requester_id);
+CREATE INDEX idx_item_requests_created   ON item_requests(created);
+
+-- ITEMS
+CREATE TABLE items (
+    id          BIGINT DEFAULT nextval('items_seq') PRIMARY KEY,
+    name        VARCHAR(255) NOT NULL,
+    description TEXT         NOT NULL,
+    available   BOOLEAN      NOT NULL,
+    owner_id    BIGINT       NOT NULL,
+    request_id  BIGINT,
+    CONSTRAINT fk_item_owner
+        FOREIGN KEY (owner_id)
+        REFERENCES users(id)
+        ON DELETE CASCADE,
+    CONSTRAINT fk_item_request
+        FOREIGN KEY (request_id)
+        REFERENCES item_requests(id)
+        ON DELETE SET NULL
+);
+
+CREATE INDEX idx_items_owner    ON items(owner_id);
+CREATE INDEX idx_items_owner_id ON items(owner_id, id);
+
+-- BOOKINGS
+CREATE TABLE bookings (
+    id        BIGINT DEFAULT nextval('bookings_seq') PRIMARY KEY,
+    start_ts  TIMESTAMP   NOT NULL,
+    end_ts    TIMESTAMP   NOT NULL,
+    item_id   BIGINT      NOT NULL,
+    booker_id BIGINT      NOT NULL,
+    status    VARCHAR(20) NOT NULL,
+    CONSTRAINT fk_booking_item
+        FOREIGN KEY (item_id)
+        REFERENCES items(id)
+        ON DELETE CASCADE,
+    CONSTRAINT fk_booking_booker
+        FOREIGN KEY (booker_id)
+        REFERENCES users(id)
+        ON DELETE CASCADE,
+    CONSTRAINT chk_booking_time CHECK (end_ts > start_ts)
+);
+
+CREATE INDEX idx_bookings_item                    ON bookings(item_id);
+CREATE INDEX idx_bookings_booker                  ON bookings(booker_id);
+CREATE INDEX idx_bookings_item_start              ON bookings(item_id, start_ts);
+CREATE INDEX idx_bookings_booker_status_start     ON bookings(booker_id, status, start_ts);
+CREATE INDEX idx_bookings_item_status_start       ON bookings(item_id,   status, start_ts);
+CREATE INDEX idx_bookings_booker_start_id         ON bookings(booker_id, start_ts DESC, id DESC);
+
+-- COMMENTS
+CREATE TABLE comments (
+    id        BIGINT DEFAULT nextval('comments_seq') PRIMARY KEY,
+    text      TEXT      NOT NULL,
+    item_id   BIGINT    NOT NULL,
+    author_id BIGINT    NOT NULL,
+    created   TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_comment_item
+        FOREIGN KEY (item_id)
+        REFERENCES items(id)
+        ON DELETE CASCADE,
+    CONSTRAINT fk_comment_author
+        FOREIGN KEY (author_id)
+        REFERENCES users(id)
+        ON DELETE CASCADE,
+    CONSTRAINT chk_comment_text_len        CHECK (CHAR_LENGTH(text) <= 1000),
+    CONSTRAINT chk_comment_text_not_blank  CHECK (TRIM(text) <> '')
+);
+
+CREATE INDEX idx_comments_item    ON comments(item_id);
+CREATE INDEX idx_comments_author  ON comments(author_id);
+CREATE INDEX idx_comments_created ON comments(created);
\ No newline at end of file
@@ -0,0 +1,18 @@
+-- Owner of the booked item, denormalized onto bookings: owner listings filter one table.
+ALTER TABLE bookings ADD COLUMN owner_id BIGINT;
+
+UPDATE bookings b SET owner_id = (SELECT i.owner_id FROM items i WHERE i.id = b.item_id);
+
+ALTER TABLE bookings ALTER COLUMN owner_id SET NOT NULL;
+
+-- (item_id, owner_id) must match the item; a change of items.owner_id cascades to its bookings.
+ALTER TABLE items ADD CONSTRAINT uq_items_id_owner UNIQUE (id, owner_id);
+ALTER TABLE bookings ADD CONSTRAINT fk_booking_item_owner
+    FOREIGN KEY (item_id, owner_id)
+    REFERENCES items(id, owner_id)
+    ON UPDATE CASCADE
+    ON DELETE CASCADE;
+
+-- Same pair as for bookers: state filters by status, ALL pages by (start_ts DESC, id DESC).
+CREATE INDEX idx_bookings_owner_status_start ON bookings(owner_id, status, start_ts);
+CREATE INDEX idx_bookings_owner_start_id     ON bookings(owner_id, start_ts DESC, id DESC);
@@ -0,0 +1,12 @@
+-- Stored FUTURE / CURRENT / PAST phase, advanced by BookingPhaseSweeper. FUTURE is a safe
+-- start for existing rows: a stored phase may lag behind the clock (listings re-check the
+-- time bounds), and the first sweep moves them on.
+ALTER TABLE bookings ADD COLUMN phase VARCHAR(10) DEFAULT 'FUTURE' NOT NULL;
+
+-- CURRENT / PAST / FUTURE listings: one (user, phase) range each, newest first.
+CREATE INDEX idx_bookings_owner_phase_start  ON bookings(owner_id,  phase, start_ts DESC, id DESC);
+CREATE INDEX idx_bookings_booker_phase_start ON bookings(booker_id, phase, start_ts DESC, id DESC);
+
+-- Sweeper: rows that crossed their start / end since the previous run.
+CREATE INDEX idx_bookings_phase_start ON bookings(phase, start_ts);
+CREATE INDEX idx_bookings_phase_end   ON bookings(phase, end_ts);
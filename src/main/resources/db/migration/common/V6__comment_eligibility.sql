@@ -0,0 +1,18 @@
+-- Earliest end of an APPROVED booking per (booker, item), kept by CommentEligibilityStore:
+-- a comment attempt is one primary-key lookup. Written on approval; a pair missing here
+-- is filled from bookings on its first lookup (idx_bookings_booker_item_status_end),
+-- so existing rows need no backfill.
+CREATE TABLE comment_eligibility (
+    booker_id     BIGINT    NOT NULL,
+    item_id       BIGINT    NOT NULL,
+    eligible_from TIMESTAMP NOT NULL,
+    CONSTRAINT pk_comment_eligibility PRIMARY KEY (booker_id, item_id),
+    CONSTRAINT fk_comment_eligibility_booker
+        FOREIGN KEY (booker_id)
+        REFERENCES users(id)
+        ON DELETE CASCADE,
+    CONSTRAINT fk_comment_eligibility_item
+        FOREIGN KEY (item_id)
+        REFERENCES items(id)
+        ON DELETE CASCADE
+);
@@ -0,0 +1,11 @@
+-- Comments per item, maintained by the comment writers (ItemCommentCountRepository):
+-- item details show the total without counting, and embed only the latest comments.
+ALTER TABLE items ADD COLUMN comment_count BIGINT DEFAULT 0 NOT NULL;
+
+UPDATE items i SET comment_count = (SELECT COUNT(*) FROM comments c WHERE c.item_id = i.id);
+
+-- Latest comments of an item and the keyset pages of GET /items/{id}/comments, newest first.
+CREATE INDEX idx_comments_item_created_id ON comments(item_id, created DESC, id DESC);
+
+-- Superseded: item_id is the leading column of the index above.
+DROP INDEX IF EXISTS idx_comments_item;
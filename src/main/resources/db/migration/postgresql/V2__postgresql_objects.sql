@@ -0,0 +1,54 @@
+-- PostgreSQL-only objects (db/migration/{vendor}); statements are idempotent because databases
+-- baselined at version 1 may already have them.
+
+-- ID SEQUENCES: migration of databases created with IDENTITY id columns.
+-- Drops the identity, points the column default at the sequence and moves the sequence past the existing
+-- rows and past the last block handed out (a running instance may still be inserting ids from it).
+CREATE SEQUENCE IF NOT EXISTS users_seq         START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS item_requests_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS items_seq         START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS bookings_seq      START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS comments_seq      START WITH 1 INCREMENT BY 50;
+
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE users ALTER COLUMN id SET DEFAULT nextval('users_seq');
+SELECT setval('users_seq', GREATEST(t.max_id + 1, s.last_value + 50), false)
+FROM (SELECT COALESCE(MAX(id), 0) AS max_id FROM users) t, users_seq s
+WHERE t.max_id >= s.last_value;
+
+ALTER TABLE item_requests ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE item_requests ALTER COLUMN id SET DEFAULT nextval('item_requests_seq');
+SELECT setval('item_requests_seq', GREATEST(t.max_id + 1, s.last_value + 50), false)
+FROM (SELECT COALESCE(MAX(id), 0) AS max_id FROM item_requests) t, item_requests_seq s
+WHERE t.max_id >= s.last_value;
+
+ALTER TABLE items ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE items ALTER COLUMN id SET DEFAULT nextval('items_seq');
+SELECT setval('items_seq', GREATEST(t.max_id + 1, s.last_value + 50), false)
+FROM (SELECT COALESCE(MAX(id), 0) AS max_id FROM items) t, items_seq s
+WHERE t.max_id >= s.last_value;
+
+ALTER TABLE bookings ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE bookings ALTER COLUMN id SET DEFAULT nextval('bookings_seq');
+SELECT setval('bookings_seq', GREATEST(t.max_id + 1, s.last_value + 50), false)
+FROM (SELECT COALESCE(MAX(id), 0) AS max_id FROM bookings) t, bookings_seq s
+WHERE t.max_id >= s.last_value;
+
+ALTER TABLE comments ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE comments ALTER COLUMN id SET DEFAULT nextval('comments_seq');
+SELECT setval('comments_seq', GREATEST(t.max_id + 1, s.last_value + 50), false)
+FROM (SELECT COALESCE(MAX(id), 0) AS max_id FROM comments) t, comments_seq s
+WHERE t.max_id >= s.last_value;
+
+-- ITEM SEARCH (shareit.item.search=postgres)
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_items_search_fts
+    ON items USING GIN (to_tsvector('simple', name || ' ' || description))
+    WHERE available;
+CREATE INDEX IF NOT EXISTS idx_items_name_trgm
+    ON items USING GIN (lower(name) gin_trgm_ops)
+    WHERE available;
+CREATE INDEX IF NOT EXISTS idx_items_description_trgm
+    ON items USING GIN (lower(description) gin_trgm_ops)
+    WHERE available;
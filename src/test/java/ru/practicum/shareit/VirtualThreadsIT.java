@@ -0,0 +1,145 @@
+package ru.practicum.shareit;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.filter.OncePerRequestFilter;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repo.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repo.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repo.UserRepository;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the real servlet container with the {@code vthreads} profile: requests must be
+ * served on virtual threads and work with open-in-view disabled.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"test", "vthreads"})
+@DisplayName("vthreads profile: requests on virtual threads")
+class VirtualThreadsIT {
+
+    private static final String HDR = "X-Sharer-User-Id";
+
+    @Autowired TestRestTemplate rest;
+    @Autowired UserRepository userRepo;
+    @Autowired ItemRepository itemRepo;
+    @Autowired BookingRepository bookingRepo;
+    @Autowired Queue<Boolean> requestThreads;
+
+    private Long ownerId;
+    private Long bookerId;
+    private Long itemId;
+
+    @BeforeEach
+    void setUp() {
+        var owner = userRepo.save(User.builder().name("Owner").email("o+" + System.nanoTime() + "@ex.com").build());
+        var booker = userRepo.save(User.builder().name("Booker").email("b+" + System.nanoTime() + "@ex.com").build());
+        var item = itemRepo.save(Item.builder().name("Drill").description("600W").available(true).owner(owner).build());
+        Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        bookingRepo.save(Booking.builder().item(item).booker(booker)
+                .start(now.minus(2, ChronoUnit.DAYS)).end(now.minus(1, ChronoUnit.DAYS))
+                .status(BookingStatus.APPROVED).build());
+        ownerId = owner.getId();
+        bookerId = booker.getId();
+        itemId = item.getId();
+        requestThreads.clear();
+    }
+
+    @Test
+    @DisplayName("item and booking endpoints answer on virtual threads without open-in-view")
+    void blockingEndpoints_runOnVirtualThreads() {
+        var start = LocalDateTime.now().plusDays(1).withNano(0);
+        var created = rest.exchange("/bookings", HttpMethod.POST,
+                new HttpEntity<>(new BookingCreateDto(itemId, start, start.plusDays(1)), headers(bookerId)), String.class);
+        assertThat(created.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+
+        assertThat(get("/items/" + itemId, ownerId)).contains("\"lastBooking\"");
+        assertThat(get("/items", ownerId)).contains("Drill");
+        assertThat(get("/bookings/owner?state=ALL", ownerId)).contains("WAITING", "APPROVED");
+        assertThat(get("/bookings?state=ALL", bookerId)).contains("Drill");
+
+        assertThat(requestThreads).hasSize(5).containsOnly(true);
+    }
+
+    @Test
+    @DisplayName("concurrent requests beyond the connection pool size all complete")
+    void concurrentRequests_allSucceed() throws Exception {
+        int requests = 200;
+        try (var clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<HttpStatus>> results = new ArrayList<>();
+            for (int i = 0; i < requests; i++) {
+                results.add(clients.submit(() -> HttpStatus.valueOf(rest.exchange("/bookings/owner", HttpMethod.GET,
+                        new HttpEntity<>(headers(ownerId)), String.class).getStatusCode().value())));
+            }
+            for (Future<HttpStatus> f : results) {
+                assertThat(f.get()).isEqualTo(HttpStatus.OK);
+            }
+        }
+        assertThat(requestThreads).hasSize(requests).containsOnly(true);
+    }
+
+    private String get(String path, Long userId) {
+        var response = rest.exchange(path, HttpMethod.GET, new HttpEntity<>(headers(userId)), String.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return response.getBody();
+    }
+
+    private static HttpHeaders headers(Long userId) {
+        var headers = new HttpHeaders();
+        headers.set(HDR, String.valueOf(userId));
+        return headers;
+    }
+
+    @TestConfiguration
+    static class ThreadProbe {
+
+        @Bean
+        Queue<Boolean> requestThreads() {
+            return new ConcurrentLinkedQueue<>();
+        }
+
+        /** Records whether each request is executed on a virtual thread. */
+        @Bean
+        OncePerRequestFilter threadProbeFilter(Queue<Boolean> requestThreads) {
+            return new OncePerRequestFilter() {
+                @Override
+                protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                                FilterChain chain) throws ServletException, IOException {
+                    requestThreads.add(Thread.currentThread().isVirtual());
+                    chain.doFilter(request, response);
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repo.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingLockStrategy;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.service.RowBookingLockStrategy;
+import ru.practicum.shareit.booking.service.StripedBookingLockStrategy;
+import ru.practicum.shareit.common.exception.BadRequestException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repo.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repo.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Stress test for concurrent booking creation on the service level against H2:
+ * many threads race for the same item and no two active bookings may overlap.
+ * Runs once per {@link BookingLockStrategy}.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("BookingService: concurrent creation")
+class BookingConcurrencyTest {
+
+    private static final int THREADS = 32;
+    private static final LocalDateTime BASE = LocalDateTime.of(2040, 1, 1, 10, 0);
+
+    @Autowired BookingService service;
+    @Autowired BookingRepository bookingRepo;
+    @Autowired ItemRepository itemRepo;
+    @Autowired UserRepository userRepo;
+    @Autowired BookingLockStrategy lockStrategy;
+
+    @Test
+    @DisplayName("striped: same window from many threads -> exactly one booking is stored")
+    void striped_sameWindow_exactlyOneWins() throws Exception {
+        assertThat(lockStrategy).isInstanceOf(StripedBookingLockStrategy.class);
+        sameWindow_exactlyOneWins(new Env(service, bookingRepo, itemRepo, userRepo));
+    }
+
+    @Test
+    @DisplayName("striped: randomly overlapping windows -> stored bookings never intersect")
+    void striped_overlappingWindows_noDoubleBooking() throws Exception {
+        overlappingWindows_noDoubleBooking(new Env(service, bookingRepo, itemRepo, userRepo));
+    }
+
+    @Test
+    @DisplayName("striped: different items are booked in parallel without rejections")
+    void striped_differentItems_allSucceed() throws Exception {
+        differentItems_allSucceed(new Env(service, bookingRepo, itemRepo, userRepo));
+    }
+
+    @Nested
+    @TestPropertySource(properties = "shareit.booking.lock=row")
+    @DisplayName("row lock strategy")
+    class RowLock {
+
+        @Autowired BookingService rowService;
+        @Autowired BookingRepository rowBookingRepo;
+        @Autowired ItemRepository rowItemRepo;
+        @Autowired UserRepository rowUserRepo;
+        @Autowired BookingLockStrategy rowLockStrategy;
+
+        @Test
+        @DisplayName("row: same window from many threads -> exactly one booking is stored")
+        void row_sameWindow_exactlyOneWins() throws Exception {
+            assertThat(rowLockStrategy).isInstanceOf(RowBookingLockStrategy.class);
+            sameWindow_exactlyOneWins(new Env(rowService, rowBookingRepo, rowItemRepo, rowUserRepo));
+        }
+
+        @Test
+        @DisplayName("row: randomly overlapping windows -> stored bookings never intersect")
+        void row_overlappingWindows_noDoubleBooking() throws Exception {
+            overlappingWindows_noDoubleBooking(new Env(rowService, rowBookingRepo, rowItemRepo, rowUserRepo));
+        }
+    }
+
+    // ---- scenarios ----
+
+    private static void sameWindow_exactlyOneWins(Env env) throws Exception {
+        List<Long> bookers = env.bookers(THREADS);
+        Long itemId = env.newItem();
+        var dto = new BookingCreateDto(itemId, BASE, BASE.plusHours(2));
+
+        AtomicInteger rejected = new AtomicInteger();
+        int created = race(THREADS, i -> {
+            try {
+                env.service().create(bookers.get(i), dto);
+                return true;
+            } catch (BadRequestException ex) {
+                rejected.incrementAndGet();
+                return false;
+            }
+        });
+
+        assertThat(created).isEqualTo(1);
+        assertThat(rejected.get()).isEqualTo(THREADS - 1);
+        assertThat(env.waiting(itemId)).hasSize(1);
+    }
+
+    private static void overlappingWindows_noDoubleBooking(Env env) throws Exception {
+        List<Long> bookers = env.bookers(THREADS);
+        Long itemId = env.newItem();
+
+        race(THREADS * 4, i -> {
+            int offset = ThreadLocalRandom.current().nextInt(48);
+            int length = 1 + ThreadLocalRandom.current().nextInt(6);
+            var dto = new BookingCreateDto(itemId, BASE.plusHours(offset), BASE.plusHours(offset + length));
+            try {
+                env.service().create(bookers.get(i % THREADS), dto);
+                return true;
+            } catch (BadRequestException ex) {
+                return false;
+            }
+        });
+
+        List<Booking> stored = new ArrayList<>(env.waiting(itemId));
+        stored.sort(Comparator.comparing(Booking::getStart));
+        assertThat(stored).isNotEmpty();
+        for (int i = 1; i < stored.size(); i++) {
+            assertThat(stored.get(i).getStart()).isAfterOrEqualTo(stored.get(i - 1).getEnd());
+        }
+    }
+
+    private static void differentItems_allSucceed(Env env) throws Exception {
+        List<Long> bookers = env.bookers(THREADS);
+        List<Long> itemIds = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            itemIds.add(env.newItem());
+        }
+
+        int created = race(THREADS, i -> {
+            env.service().create(bookers.get(i), new BookingCreateDto(itemIds.get(i), BASE, BASE.plusHours(2)));
+            return true;
+        });
+
+        assertThat(created).isEqualTo(THREADS);
+    }
+
+    // ---- helpers ----
+
+    /** Runs {@code attempts} tasks released at once on {@link #THREADS} threads; returns the number of successes. */
+    private static int race(int attempts, IntTask task) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < attempts; i++) {
+                int n = i;
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return task.run(n);
+                }));
+            }
+            start.countDown();
+            int ok = 0;
+            for (Future<Boolean> f : results) {
+                if (f.get(30, TimeUnit.SECONDS)) ok++;
+            }
+            return ok;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface IntTask {
+        boolean run(int i);
+    }
+
+    /** Beans of one application context (each lock strategy runs in its own context and DB). */
+    private record Env(BookingService service,
+                       BookingRepository bookingRepo,
+                       ItemRepository itemRepo,
+                       UserRepository userRepo) {
+
+        List<Long> bookers(int count) {
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                ids.add(userRepo.save(user("booker" + i)).getId());
+            }
+            return ids;
+        }
+
+        Long newItem() {
+            User owner = userRepo.save(user("owner"));
+            return itemRepo.save(Item.builder()
+                    .name("Drill").description("600W").available(true).owner(owner).build()).getId();
+        }
+
+        List<Booking> waiting(Long itemId) {
+            return bookingRepo.findAll().stream()
+                    .filter(b -> b.getItem().getId().equals(itemId) && b.getStatus() == BookingStatus.WAITING)
+                    .toList();
+        }
+
+        private static User user(String name) {
+            return User.builder().name(name).email(name + "+" + System.nanoTime() + "@ex.com").build();
+        }
+    }
+}
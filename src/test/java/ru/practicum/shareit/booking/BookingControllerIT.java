@@ -3,24 +3,33 @@ package ru.practicum.shareit.booking;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
 import java.time.temporal.ChronoUnit;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingPhase;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repo.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingPhaseSweeper;
+import ru.practicum.shareit.common.QueryCounter;
+import ru.practicum.shareit.common.QueryCountingConfig;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repo.ItemRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repo.UserRepository;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -28,6 +37,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @SpringBootTest
 @AutoConfigureMockMvc
 @ActiveProfiles("test")
+@Import(QueryCountingConfig.class)
 @DisplayName("BookingController: integration tests")
 class BookingControllerIT {
 
@@ -38,6 +48,8 @@ class BookingControllerIT {
     @Autowired UserRepository userRepo;
     @Autowired ItemRepository itemRepo;
     @Autowired BookingRepository bookingRepo;
+    @Autowired QueryCounter queries;
+    @Autowired BookingPhaseSweeper sweeper;
 
     private Long ownerId;
     private Long bookerId;
@@ -224,6 +236,181 @@ class BookingControllerIT {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    @DisplayName("GET /bookings/owner — listing costs the same number of queries for any page size")
+    void list_owner_queryCountIndependentOfRows() throws Exception {
+        var owner = userRepo.findById(ownerId).orElseThrow();
+        Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        for (int i = 0; i < 5; i++) {
+            var booker = userRepo.save(User.builder().name("B" + i).email("b" + i + "@test.com").build());
+            var item = itemRepo.save(Item.builder()
+                    .name("Item " + i).description("d").available(true).owner(owner).build());
+            bookingRepo.save(Booking.builder()
+                    .item(item).booker(booker)
+                    .start(now.plus(i + 1, ChronoUnit.DAYS)).end(now.plus(i + 2, ChronoUnit.DAYS))
+                    .status(BookingStatus.WAITING).build());
+        }
+
+        int count = queries.count(() ->
+                mvc.perform(get("/bookings/owner").header(USER_HEADER, ownerId).param("size", "10"))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$", hasSize(5)))
+                        .andExpect(jsonPath("$[*].item.name", everyItem(startsWith("Item ")))));
+
+        // user exists + one projection query; no per-row item/booker loads
+        assertThat(count).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("GET /bookings/owner — a repeated call skips the user existence query")
+    void list_owner_existenceCheckCached() throws Exception {
+        mvc.perform(get("/bookings/owner").header(USER_HEADER, ownerId)).andExpect(status().isOk());
+
+        int count = queries.count(() ->
+                mvc.perform(get("/bookings/owner").header(USER_HEADER, ownerId))
+                        .andExpect(status().isOk()));
+
+        assertThat(count).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("POST /bookings/batch — PARTIAL stores free slots, ALL_OR_NOTHING stores nothing on conflict")
+    void createBatch_modes() throws Exception {
+        var stored = prepareApprovedFutureBooking();
+        var base = LocalDateTime.now().withNano(0).plusDays(10);
+        var storedStart = LocalDateTime.ofInstant(stored.getStart(), ZoneId.systemDefault());
+        var weekly = new ArrayList<BookingCreateDto>();
+        for (int week = 0; week < 4; week++) {
+            weekly.add(new BookingCreateDto(itemId, base.plusWeeks(week), base.plusWeeks(week).plusHours(3)));
+        }
+        weekly.add(new BookingCreateDto(itemId, storedStart, storedStart.plusHours(1)));
+
+        mvc.perform(post("/bookings/batch").param("mode", "ALL_OR_NOTHING")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsBytes(weekly))
+                        .header(USER_HEADER, bookerId))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("bookings[4]")));
+        assertThat(bookingRepo.count()).isEqualTo(1);
+
+        mvc.perform(post("/bookings/batch").param("mode", "PARTIAL")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsBytes(weekly))
+                        .header(USER_HEADER, bookerId))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$", hasSize(5)))
+                .andExpect(jsonPath("$[0:4].booking.status", everyItem(is("WAITING"))))
+                .andExpect(jsonPath("$[4].error").value(containsString("overlaps")));
+        assertThat(bookingRepo.count()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("POST /bookings/batch — 40 bookings are inserted with one id fetch and one batched INSERT")
+    void createBatch_insertsAreBatched() throws Exception {
+        var base = LocalDateTime.now().withNano(0).plusDays(1);
+        var weekly = new ArrayList<BookingCreateDto>();
+        for (int week = 0; week < 40; week++) {
+            weekly.add(new BookingCreateDto(itemId, base.plusWeeks(week), base.plusWeeks(week).plusHours(3)));
+        }
+
+        int count = queries.count(() ->
+                mvc.perform(post("/bookings/batch")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(om.writeValueAsBytes(weekly))
+                                .header(USER_HEADER, bookerId))
+                        .andExpect(status().isCreated())
+                        .andExpect(jsonPath("$[*].booking.id", everyItem(notNullValue()))));
+
+        // booker + items + stored windows + one batched INSERT, plus one sequence call
+        // unless the block of 50 ids reserved by an earlier test still covers the batch
+        assertThat(count).isBetween(4, 5);
+        assertThat(bookingRepo.count()).isEqualTo(40);
+    }
+
+    @Test
+    @DisplayName("PATCH /bookings/bulk — owner approves many WAITING bookings with a fixed number of queries")
+    void approveBulk_fixedQueryCount() throws Exception {
+        var item = itemRepo.findById(itemId).orElseThrow();
+        var booker = userRepo.findById(bookerId).orElseThrow();
+        Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        var ids = new ArrayList<Long>();
+        for (int i = 0; i < 20; i++) {
+            ids.add(bookingRepo.save(Booking.builder().item(item).booker(booker)
+                    .start(now.plus(i + 1, ChronoUnit.DAYS)).end(now.plus(i + 1, ChronoUnit.DAYS).plusSeconds(3600))
+                    .status(BookingStatus.WAITING).build()).getId());
+        }
+        var approved = prepareApprovedFutureBooking().getId();
+        ids.add(approved);
+
+        int count = queries.count(() ->
+                mvc.perform(patch("/bookings/bulk").param("approved", "true")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(om.writeValueAsBytes(ids))
+                                .header(USER_HEADER, ownerId))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$", hasSize(21)))
+                        .andExpect(jsonPath("$[0:20].status", everyItem(is("APPROVED"))))
+                        .andExpect(jsonPath("$[20].error").value("booking is not in WAITING state")));
+
+        // ownership projection, one UPDATE, then comment eligibility: earliest ends, stored rows, one INSERT
+        assertThat(count).isEqualTo(5);
+        assertThat(bookingRepo.findAllById(ids)).extracting(Booking::getStatus).containsOnly(BookingStatus.APPROVED);
+
+        mvc.perform(patch("/bookings/bulk").param("approved", "false")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsBytes(List.of(ids.get(0))))
+                        .header(USER_HEADER, bookerId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].error").value("only owner can approve"));
+    }
+
+    @Test
+    @DisplayName("GET /bookings/owner/export — NDJSON, owner's bookings newest first")
+    void exportOwner_ndjson() throws Exception {
+        var future = prepareApprovedFutureBooking();
+        prepareCurrentApprovedBooking();
+
+        var async = mvc.perform(get("/bookings/owner/export").header(USER_HEADER, ownerId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mvc.perform(asyncDispatch(async))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        List<String> lines = body.lines().toList();
+        assertThat(lines).hasSize(2);
+        assertThat(om.readTree(lines.get(0)).get("id").asLong()).isEqualTo(future.getId());
+        assertThat(om.readTree(lines.get(1)).get("item").get("name").asText()).isEqualTo("Drill");
+    }
+
+    @Test
+    @DisplayName("GET /bookings/owner/export — unknown owner -> 404")
+    void exportOwner_unknownOwner_404() throws Exception {
+        mvc.perform(get("/bookings/owner/export").header(USER_HEADER, 999_999))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("scheduled phase sweep — runs in its own transaction and advances lagging rows")
+    void phaseSweep_scheduledEntryPoint() {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        var past = bookingRepo.save(Booking.builder()
+                .item(itemRepo.findById(itemId).orElseThrow())
+                .booker(userRepo.findById(bookerId).orElseThrow())
+                .start(now.minus(2, ChronoUnit.DAYS))
+                .end(now.minus(1, ChronoUnit.DAYS))
+                .status(BookingStatus.APPROVED)
+                .build());
+        past.setPhase(BookingPhase.FUTURE);
+        bookingRepo.save(past);
+
+        sweeper.sweep();
+
+        assertThat(bookingRepo.findById(past.getId()).orElseThrow().getPhase()).isEqualTo(BookingPhase.PAST);
+    }
+
     private Booking prepareApprovedFutureBooking() {
         Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
         return bookingRepo.save(Booking.builder()
@@ -2,6 +2,8 @@ package ru.practicum.shareit.booking;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -13,12 +15,18 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.controller.BookingController;
+import ru.practicum.shareit.booking.dto.BookingBatchMode;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResult;
 import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.dto.BookingStateParam;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.common.paging.CursorPage;
 import ru.practicum.shareit.common.web.UserIdArgumentResolver;
 import ru.practicum.shareit.common.web.WebConfig;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
@@ -68,6 +76,75 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.item.id").value(10));
     }
 
+    @Test
+    @DisplayName("POST /bookings/batch — 201 with per-entry results, mode is passed through")
+    void createBatch_201() throws Exception {
+        var start = LocalDateTime.of(2030, 1, 1, 10, 0);
+        var dtos = List.of(new BookingCreateDto(10L, start, start.plusHours(2)),
+                new BookingCreateDto(10L, start.plusHours(1), start.plusHours(3)));
+        var created = new BookingResponse(1L, start, start.plusHours(2), "WAITING",
+                new BookingResponse.Booker(777L), new BookingResponse.ItemShort(10L, "Drill"));
+
+        Mockito.when(bookingService.createBatch(eq(777L), eq(dtos), eq(BookingBatchMode.PARTIAL)))
+                .thenReturn(List.of(BookingBatchResult.created(0, created),
+                        BookingBatchResult.rejected(1, "bookings[1]: booking time overlaps with existing booking")));
+
+        mvc.perform(post("/bookings/batch").param("mode", "partial")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsBytes(dtos))
+                        .header(USER_HEADER, 777))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$[0].booking.id").value(1))
+                .andExpect(jsonPath("$[1].booking").doesNotExist())
+                .andExpect(jsonPath("$[1].error").value(containsString("overlaps")));
+    }
+
+    @Test
+    @DisplayName("POST /bookings/batch — 400 on empty list, invalid entry or unknown mode")
+    void createBatch_400() throws Exception {
+        mvc.perform(post("/bookings/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]")
+                        .header(USER_HEADER, 777))
+                .andExpect(status().isBadRequest());
+
+        mvc.perform(post("/bookings/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"itemId\":10,\"start\":\"2030-01-01T10:00:00\"}]")
+                        .header(USER_HEADER, 777))
+                .andExpect(status().isBadRequest());
+
+        mvc.perform(post("/bookings/batch").param("mode", "SOMETIMES")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"itemId\":10,\"start\":\"2030-01-01T10:00:00\",\"end\":\"2030-01-01T11:00:00\"}]")
+                        .header(USER_HEADER, 777))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verifyNoInteractions(bookingService);
+    }
+
+    @Test
+    @DisplayName("PATCH /bookings/bulk?approved=true — ids from body, per-id results; 400 on empty list")
+    void approveBulk_200() throws Exception {
+        Mockito.when(bookingService.approveBulk(777L, List.of(1L, 2L), true))
+                .thenReturn(List.of(BookingDecisionResult.applied(1L, "APPROVED"),
+                        BookingDecisionResult.rejected(2L, "booking not found")));
+
+        mvc.perform(patch("/bookings/bulk").param("approved", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1,2]")
+                        .header(USER_HEADER, 777))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("APPROVED"))
+                .andExpect(jsonPath("$[1].error").value("booking not found"));
+
+        mvc.perform(patch("/bookings/bulk").param("approved", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]")
+                        .header(USER_HEADER, 777))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("PATCH /bookings/{id}?approved=... — maps 'approved' param and header")
     void approve_ok() throws Exception {
@@ -107,4 +184,82 @@ class BookingControllerTest {
                 .andExpect(status().isBadRequest());
         Mockito.verifyNoInteractions(bookingService);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("GET /bookings?cursor= — keyset mode, next cursor in X-Next-Cursor header")
+    void listUser_cursorMode_header() throws Exception {
+        var resp = new BookingResponse(
+                1L,
+                LocalDateTime.now(),
+                LocalDateTime.now().plusHours(1),
+                "WAITING",
+                new BookingResponse.Booker(7L),
+                new BookingResponse.ItemShort(9L, "X")
+        );
+        Mockito.when(bookingService.listUserByCursor(7L, BookingStateParam.ALL, "", 1))
+                .thenReturn(new CursorPage<>(List.of(resp), "abc"));
+
+        mvc.perform(get("/bookings")
+                        .param("cursor", "")
+                        .param("size", "1")
+                        .header(USER_HEADER, 7))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "abc"))
+                .andExpect(jsonPath("$[0].id").value(1));
+        Mockito.verify(bookingService, Mockito.never()).listUser(any(), any(), Mockito.anyInt(), Mockito.anyInt());
+    }
+
+    @Test
+    @DisplayName("GET /bookings/owner without cursor — OFFSET mode, no cursor header")
+    void listOwner_offsetMode_noHeader() throws Exception {
+        Mockito.when(bookingService.listOwner(7L, BookingStateParam.ALL, 20, 10)).thenReturn(List.of());
+
+        mvc.perform(get("/bookings/owner")
+                        .param("from", "20")
+                        .param("size", "10")
+                        .header(USER_HEADER, 7))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    @DisplayName("GET /bookings/owner/export?format=csv — header, then one row per booking; names are quoted when needed")
+    void exportOwner_csv() throws Exception {
+        var start = LocalDateTime.of(2030, 1, 1, 10, 0);
+        Mockito.doAnswer(inv -> {
+            Consumer<BookingResponse> sink = inv.getArgument(2);
+            sink.accept(new BookingResponse(2L, start, start.plusHours(1), "APPROVED",
+                    new BookingResponse.Booker(8L), new BookingResponse.ItemShort(9L, "Drill, \"600W\"")));
+            sink.accept(new BookingResponse(1L, start, start.plusHours(2), "WAITING",
+                    new BookingResponse.Booker(8L), new BookingResponse.ItemShort(9L, "Saw")));
+            return null;
+        }).when(bookingService).exportOwner(eq(7L), eq(BookingStateParam.PAST), any());
+
+        var async = mvc.perform(get("/bookings/owner/export")
+                        .param("state", "past")
+                        .param("format", "csv")
+                        .header(USER_HEADER, 7))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mvc.perform(asyncDispatch(async))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(body.lines().toList()).containsExactly(
+                "id,start,end,status,booker_id,item_id,item_name",
+                "2,2030-01-01T10:00,2030-01-01T11:00,APPROVED,8,9,\"Drill, \"\"600W\"\"\"",
+                "1,2030-01-01T10:00,2030-01-01T12:00,WAITING,8,9,Saw");
+    }
+
+    @Test
+    @DisplayName("GET /bookings/owner/export — unknown format -> 400")
+    void exportOwner_unknownFormat_400() throws Exception {
+        mvc.perform(get("/bookings/owner/export")
+                        .param("format", "xml")
+                        .header(USER_HEADER, 7))
+                .andExpect(status().isBadRequest());
+        Mockito.verifyNoInteractions(bookingService);
+    }
+}
@@ -0,0 +1,168 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repo.BookingRepository;
+import ru.practicum.shareit.booking.repo.BookingSlot;
+import ru.practicum.shareit.booking.service.BookingOverlapIndex;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit-tests for the in-memory overlap index: half-open window semantics,
+ * lazy warm-up from the repository and create/reject synchronisation.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BookingOverlapIndex: per-item timelines")
+class BookingOverlapIndexTest {
+
+    private static final Instant T0 = Instant.parse("2030-01-01T00:00:00Z");
+
+    @Mock private BookingRepository bookingRepo;
+
+    private BookingOverlapIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BookingOverlapIndex(bookingRepo, true, false, 100, Duration.ofMinutes(30), "striped");
+    }
+
+    @Test
+    @DisplayName("overlaps(): touching windows do not clash, intersecting ones do")
+    void overlaps_halfOpenWindows() {
+        when(bookingRepo.findSlotsEndingAfter(eq(5L), any(), any()))
+                .thenReturn(List.of(slot(1L, 10, 20), slot(2L, 30, 40)));
+
+        assertThat(index.overlaps(5L, at(0), at(10))).isFalse();
+        assertThat(index.overlaps(5L, at(20), at(30))).isFalse();
+        assertThat(index.overlaps(5L, at(15), at(16))).isTrue();
+        assertThat(index.overlaps(5L, at(25), at(35))).isTrue();
+        assertThat(index.overlaps(5L, at(0), at(100))).isTrue();
+        assertThat(index.overlaps(5L, at(40), at(50))).isFalse();
+    }
+
+    @Test
+    @DisplayName("overlaps(): a long window hidden behind a short later one is still found")
+    void overlaps_nestedWindows() {
+        when(bookingRepo.findSlotsEndingAfter(eq(5L), any(), any()))
+                .thenReturn(List.of(slot(1L, 0, 100), slot(2L, 10, 20)));
+
+        assertThat(index.overlaps(5L, at(50), at(60))).isTrue();
+    }
+
+    @Test
+    @DisplayName("timeline is loaded once per item and then served from memory")
+    void warmsOncePerItem() {
+        when(bookingRepo.findSlotsEndingAfter(eq(5L), any(), any())).thenReturn(List.of());
+
+        index.overlaps(5L, at(0), at(10));
+        index.overlaps(5L, at(20), at(30));
+
+        verify(bookingRepo, times(1)).findSlotsEndingAfter(eq(5L), any(), any());
+    }
+
+    @Test
+    @DisplayName("track()/untrack(): created bookings block, rejected ones free the window")
+    void trackAndUntrack() {
+        when(bookingRepo.findSlotsEndingAfter(eq(5L), any(), any())).thenReturn(List.of());
+        assertThat(index.overlaps(5L, at(10), at(20))).isFalse();
+
+        Booking created = booking(7L, 5L, 10, 20);
+        index.track(created);
+        assertThat(index.overlaps(5L, at(15), at(25))).isTrue();
+
+        index.untrack(created);
+        assertThat(index.overlaps(5L, at(15), at(25))).isFalse();
+        verify(bookingRepo, times(1)).findSlotsEndingAfter(eq(5L), any(), any());
+    }
+
+    @Test
+    @DisplayName("warm-up loads only active bookings that have not ended yet")
+    void warmUp_onlyNotEnded() {
+        Instant before = Instant.now();
+        when(bookingRepo.findSlotsEndingAfter(eq(5L), any(), any())).thenReturn(List.of());
+
+        index.overlaps(5L, at(0), at(10));
+
+        verify(bookingRepo).findSlotsEndingAfter(eq(5L), eq(BookingOverlapIndex.ACTIVE_STATUSES),
+                argThat(now -> !now.isBefore(before) && !now.isAfter(Instant.now())));
+    }
+
+    @Test
+    @DisplayName("a window starting before the loaded horizon is checked in the DB (ended bookings are not kept)")
+    void windowBeforeHorizon_checkedInDb() {
+        Instant now = Instant.now();
+        when(bookingRepo.findSlotsEndingAfter(eq(5L), any(), any())).thenReturn(List.of());
+        when(bookingRepo.hasOverlap(eq(5L), any(), any(), any())).thenReturn(true);
+
+        assertThat(index.overlaps(5L, now.minusSeconds(3600), now.plusSeconds(3600))).isTrue();
+        assertThat(index.overlaps(5L, at(0), at(10))).isFalse();
+
+        verify(bookingRepo, times(1)).hasOverlap(eq(5L), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("with the row lock every negative answer is confirmed in the DB")
+    void rowLock_forcesDbConfirmation() {
+        var withRowLock = new BookingOverlapIndex(bookingRepo, true, false, 100, Duration.ofMinutes(30), "row");
+
+        assertThat(withRowLock.isVerifyWithDb()).isTrue();
+        assertThat(index.isVerifyWithDb()).isFalse();
+    }
+
+    @Test
+    @DisplayName("untrackBooker(): timelines of the booker's items are reloaded after the delete")
+    void untrackBooker_reloadsTimelines() {
+        when(bookingRepo.findSlotsEndingAfter(eq(5L), any(), any()))
+                .thenReturn(List.of(slot(1L, 10, 20)))
+                .thenReturn(List.of());
+        when(bookingRepo.findItemIdsBookedBy(eq(3L), any())).thenReturn(List.of(5L));
+        assertThat(index.overlaps(5L, at(15), at(25))).isTrue();
+
+        index.untrackBooker(3L);
+
+        assertThat(index.overlaps(5L, at(15), at(25))).isFalse();
+    }
+
+    @Test
+    @DisplayName("disabled index ignores tracking calls")
+    void disabled_noop() {
+        var disabled = new BookingOverlapIndex(bookingRepo, false, false, 100, Duration.ofMinutes(30), "striped");
+
+        disabled.track(booking(1L, 5L, 0, 10));
+
+        assertThat(disabled.isEnabled()).isFalse();
+        verifyNoInteractions(bookingRepo);
+    }
+
+    private static Instant at(long minutes) {
+        return T0.plusSeconds(minutes * 60);
+    }
+
+    private static BookingSlot slot(Long id, long fromMinutes, long toMinutes) {
+        return new BookingSlot(id, at(fromMinutes), at(toMinutes));
+    }
+
+    private static Booking booking(Long id, Long itemId, long fromMinutes, long toMinutes) {
+        return Booking.builder()
+                .id(id)
+                .item(Item.builder().id(itemId).build())
+                .start(at(fromMinutes))
+                .end(at(toMinutes))
+                .build();
+    }
+}
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.booking;
 
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -7,9 +8,15 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingStateParam;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingPhase;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repo.BookingEdgeView;
 import ru.practicum.shareit.booking.repo.BookingRepository;
+import ru.practicum.shareit.booking.repo.BookingView;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repo.ItemRepository;
 import ru.practicum.shareit.user.model.User;
@@ -21,7 +28,7 @@ import java.util.List;
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
- * Integration test for {@link BookingRepository} derived queries against H2 (PostgreSQL mode).
+ * Integration test for {@link BookingRepository} queries against H2 (PostgreSQL mode).
  * Verifies booker/owner listings, current/future/past filters, and existence checks.
  */
 @DataJpaTest
@@ -32,6 +39,8 @@ class BookingRepositoryIT {
     @Autowired private BookingRepository bookingRepo;
     @Autowired private ItemRepository itemRepo;
     @Autowired private UserRepository userRepo;
+    @Autowired private EntityManager em;
+    @Autowired private JdbcTemplate jdbc;
 
     private Long ownerId;
     private Long bookerId;
@@ -83,10 +92,15 @@ class BookingRepositoryIT {
     void byBooker_allStates_orderedDesc() {
         var page = PageRequest.of(0, 10);
 
-        var all = bookingRepo.findByBooker_IdOrderByStartDesc(bookerId, page);
+        var all = bookingRepo.pageByBooker(bookerId, BookingStateParam.ALL, now, page);
 
         assertThat(all).hasSize(3);
-        assertThat(all).isSortedAccordingTo((a, b) -> b.getStart().compareTo(a.getStart()));
+        assertThat(all).isSortedAccordingTo((a, b) -> b.start().compareTo(a.start()));
+        assertThat(all).allSatisfy(v -> {
+            assertThat(v.bookerId()).isEqualTo(bookerId);
+            assertThat(v.itemId()).isEqualTo(itemId);
+            assertThat(v.itemName()).isEqualTo("Drill");
+        });
     }
 
     @Test
@@ -94,11 +108,9 @@ class BookingRepositoryIT {
     void byBooker_current() {
         var page = PageRequest.of(0, 10);
 
-        var list = bookingRepo.findByBooker_IdAndStartBeforeAndEndAfterOrderByStartDesc(
-                bookerId, now, now, page);
+        var list = bookingRepo.pageByBooker(bookerId, BookingStateParam.CURRENT, now, page);
 
-        assertThat(list).hasSize(1);
-        assertThat(list).extracting(Booking::getStatus).containsExactly(BookingStatus.APPROVED);
+        assertThat(list).extracting(BookingView::status).containsExactly(BookingStatus.APPROVED);
     }
 
     @Test
@@ -106,9 +118,9 @@ class BookingRepositoryIT {
     void byOwner_futurePastWaiting() {
         var page = PageRequest.of(0, 10);
 
-        List<Booking> future  = bookingRepo.findByItem_Owner_IdAndStartAfterOrderByStartDesc(ownerId, now, page);
-        List<Booking> past    = bookingRepo.findByItem_Owner_IdAndEndBeforeOrderByStartDesc(ownerId, now, page);
-        List<Booking> waiting = bookingRepo.findByItem_Owner_IdAndStatusOrderByStartDesc(ownerId, BookingStatus.WAITING, page);
+        List<BookingView> future  = bookingRepo.pageByOwner(ownerId, BookingStateParam.FUTURE, now, page);
+        List<BookingView> past    = bookingRepo.pageByOwner(ownerId, BookingStateParam.PAST, now, page);
+        List<BookingView> waiting = bookingRepo.pageByOwner(ownerId, BookingStateParam.WAITING, now, page);
 
         assertThat(future).hasSize(1);
         assertThat(past).hasSize(1);
@@ -116,11 +128,146 @@ class BookingRepositoryIT {
     }
 
     @Test
-    @DisplayName("existsByBooker_IdAndItem_IdAndEndBeforeAndStatus — true for past REJECTED")
-    void existsByBookerAndItemAndEndBeforeAndStatus() {
-        boolean ok = bookingRepo.existsByBooker_IdAndItem_IdAndEndBeforeAndStatus(
-                bookerId, itemId, now, BookingStatus.REJECTED);
+    @DisplayName("Owner: OFFSET paging — second page continues the first")
+    void byOwner_offsetPages() {
+        var first = bookingRepo.pageByOwner(ownerId, BookingStateParam.ALL, now, PageRequest.of(0, 2));
+        var second = bookingRepo.pageByOwner(ownerId, BookingStateParam.ALL, now, PageRequest.of(1, 2));
 
-        assertThat(ok).isTrue();
+        assertThat(first).hasSize(2);
+        assertThat(second).singleElement()
+                .extracting(BookingView::status).isEqualTo(BookingStatus.REJECTED);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("seekByBooker — cursor pages match the OFFSET order, ties on start broken by id")
+    void seekByBooker_pagesFollowCursor() {
+        var booker = userRepo.findById(bookerId).orElseThrow();
+        var item = itemRepo.findById(itemId).orElseThrow();
+        bookingRepo.save(Booking.builder()
+                .start(now.minusSeconds(3600))
+                .end(now.plusSeconds(7200))
+                .item(item).booker(booker).status(BookingStatus.WAITING).build());
+
+        var byOffset = bookingRepo.pageByBooker(bookerId, BookingStateParam.ALL, now, PageRequest.of(0, 10));
+
+        var first = bookingRepo.seekByBooker(bookerId, BookingStateParam.ALL, now, null, 2);
+        var last = first.get(1);
+        var second = bookingRepo.seekByBooker(bookerId, BookingStateParam.ALL, now,
+                new BookingCursor(last.start(), last.id()), 2);
+
+        assertThat(first).hasSize(2);
+        assertThat(second).hasSize(2);
+        assertThat(first.get(0).start()).isEqualTo(byOffset.get(0).start());
+        assertThat(second).doesNotContainAnyElementsOf(first);
+        assertThat(second.get(1).start()).isEqualTo(byOffset.get(3).start());
+    }
+
+    @Test
+    @DisplayName("seekByOwner — state filters: CURRENT/FUTURE/WAITING")
+    void seekByOwner_states() {
+        assertThat(bookingRepo.seekByOwner(ownerId, BookingStateParam.CURRENT, now, null, 10))
+                .extracting(BookingView::status).containsExactly(BookingStatus.APPROVED);
+        assertThat(bookingRepo.seekByOwner(ownerId, BookingStateParam.FUTURE, now, null, 10)).hasSize(1);
+        assertThat(bookingRepo.seekByOwner(ownerId, BookingStateParam.WAITING, now, null, 10)).hasSize(1);
+        assertThat(bookingRepo.seekByOwner(ownerId, BookingStateParam.ALL, now, null, 10)).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("owner_id — copied from the item on insert, follows an ownership change")
+    void ownerId_copiedOnInsert_andCascadedOnOwnerChange() {
+        var item = itemRepo.findById(itemId).orElseThrow();
+        var booking = approved(item, userRepo.findById(bookerId).orElseThrow(), now.plusSeconds(40 * 24 * 3600));
+        assertThat(booking.getOwnerId()).isEqualTo(ownerId);
+
+        var newOwner = userRepo.save(User.builder().name("Heir").email("h+" + System.nanoTime() + "@ex.com").build());
+        em.flush();
+        jdbc.update("UPDATE items SET owner_id = ? WHERE id = ?", newOwner.getId(), itemId);
+        em.clear();
+
+        assertThat(bookingRepo.findById(booking.getId()).orElseThrow().getOwnerId()).isEqualTo(newOwner.getId());
+        assertThat(bookingRepo.seekByOwner(newOwner.getId(), BookingStateParam.ALL, now, null, 10)).hasSize(4);
+        assertThat(bookingRepo.seekByOwner(ownerId, BookingStateParam.ALL, now, null, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("phase — set on insert, advanced by the sweep queries; time filters stay exact while it lags")
+    void phase_advancedBySweep_listingsExactWhileLagging() {
+        var item = itemRepo.findById(itemId).orElseThrow();
+        var booker = userRepo.findById(bookerId).orElseThrow();
+        Instant clock = Instant.now();
+        var booking = bookingRepo.save(Booking.builder()
+                .start(clock.plusSeconds(3600)).end(clock.plusSeconds(7200))
+                .item(item).booker(booker).status(BookingStatus.APPROVED).build());
+        assertThat(booking.getPhase()).isEqualTo(BookingPhase.FUTURE);
+
+        Instant during = clock.plusSeconds(5400);
+        assertThat(ids(bookingRepo.seekByBooker(bookerId, BookingStateParam.CURRENT, during, null, 10)))
+                .containsExactly(booking.getId());
+        assertThat(bookingRepo.markStarted(during)).isEqualTo(1);
+        assertThat(ids(bookingRepo.seekByOwner(ownerId, BookingStateParam.CURRENT, during, null, 10)))
+                .containsExactly(booking.getId());
+        assertThat(ids(bookingRepo.seekByOwner(ownerId, BookingStateParam.FUTURE, during, null, 10)))
+                .doesNotContain(booking.getId());
+
+        Instant after = clock.plusSeconds(9000);
+        assertThat(ids(bookingRepo.seekByOwner(ownerId, BookingStateParam.PAST, after, null, 10)))
+                .containsExactly(booking.getId());
+        assertThat(bookingRepo.markEnded(after)).isEqualTo(1);
+        em.clear();
+        assertThat(bookingRepo.findById(booking.getId()).orElseThrow().getPhase()).isEqualTo(BookingPhase.PAST);
+        assertThat(ids(bookingRepo.seekByOwner(ownerId, BookingStateParam.PAST, after, null, 10)))
+                .containsExactly(booking.getId());
+        assertThat(bookingRepo.seekByOwner(ownerId, BookingStateParam.CURRENT, after, null, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("findLastAndNextForItems — only the latest started and the earliest upcoming APPROVED per item")
+    void findLastAndNextForItems_topOnePerItem() {
+        var booker = userRepo.findById(bookerId).orElseThrow();
+        var item = itemRepo.findById(itemId).orElseThrow();
+        var other = itemRepo.save(Item.builder()
+                .name("Saw").description("hand").available(true).owner(item.getOwner()).build());
+        var quiet = itemRepo.save(Item.builder()
+                .name("Glue").description("none").available(true).owner(item.getOwner()).build());
+
+        var olderPast = approved(item, booker, now.minusSeconds(10 * 24 * 3600));
+        var laterFuture = approved(item, booker, now.plusSeconds(20 * 24 * 3600));
+        var nextForItem = approved(item, booker, now.plusSeconds(5 * 24 * 3600));
+        var lastForOther = approved(other, booker, now.minusSeconds(24 * 3600));
+        approved(other, booker, now.minusSeconds(5 * 24 * 3600));
+
+        var edges = bookingRepo.findLastAndNextForItems(
+                List.of(itemId, other.getId(), quiet.getId()), BookingStatus.APPROVED.name(), now);
+
+        // item: last = the current booking from setUp (started 1h before now), next = nearest future
+        assertThat(edges).hasSize(3);
+        var itemLast = edge(edges, itemId, true);
+        assertThat(itemLast.getStart()).isEqualTo(now.minusSeconds(3600));
+        assertThat(itemLast.getEnd()).isEqualTo(now.plusSeconds(3600));
+        assertThat(itemLast.getBookerId()).isEqualTo(bookerId);
+
+        var itemNext = edge(edges, itemId, false);
+        assertThat(itemNext.getId()).isEqualTo(nextForItem.getId());
+        assertThat(itemNext.getStart()).isEqualTo(nextForItem.getStart());
+
+        assertThat(edge(edges, other.getId(), true).getId()).isEqualTo(lastForOther.getId());
+        assertThat(edges).extracting(BookingEdgeView::getId)
+                .doesNotContain(olderPast.getId(), laterFuture.getId());
+    }
+
+    private Booking approved(Item item, User booker, Instant start) {
+        return bookingRepo.save(Booking.builder()
+                .start(start).end(start.plusSeconds(3600))
+                .item(item).booker(booker).status(BookingStatus.APPROVED).build());
+    }
+
+    private static List<Long> ids(List<BookingView> views) {
+        return views.stream().map(BookingView::id).toList();
+    }
+
+    private static BookingEdgeView edge(List<BookingEdgeView> edges, Long itemId, boolean last) {
+        return edges.stream()
+                .filter(e -> e.getItemId().equals(itemId) && e.isLast() == last)
+                .findFirst().orElseThrow();
+    }
+}
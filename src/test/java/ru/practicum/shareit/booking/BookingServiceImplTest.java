@@ -10,26 +10,46 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.booking.dto.BookingBatchMode;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResult;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingResponse;
 import ru.practicum.shareit.booking.dto.BookingStateParam;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repo.BookingEnd;
+import ru.practicum.shareit.booking.repo.BookingOwnership;
 import ru.practicum.shareit.booking.repo.BookingRepository;
+import ru.practicum.shareit.booking.repo.BookingView;
+import ru.practicum.shareit.booking.repo.BookingWindow;
+import ru.practicum.shareit.booking.service.BookingLockStrategy;
+import ru.practicum.shareit.booking.service.BookingOverlapIndex;
 import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.booking.service.CommentEligibilityStore;
 import ru.practicum.shareit.common.exception.BadRequestException;
+import ru.practicum.shareit.common.exception.ConflictException;
 import ru.practicum.shareit.common.exception.ForbiddenException;
 import ru.practicum.shareit.common.exception.NotFoundException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repo.ItemRepository;
+import ru.practicum.shareit.item.service.ItemChangedEvent;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repo.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceCache;
 
 import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -47,6 +67,11 @@ class BookingServiceImplTest {
     @Mock private BookingRepository bookingRepo;
     @Mock private ItemRepository itemRepo;
     @Mock private UserRepository userRepo;
+    @Mock private UserExistenceCache userExistence;
+    @Mock private BookingOverlapIndex overlapIndex;
+    @Mock private BookingLockStrategy lockStrategy;
+    @Mock private CommentEligibilityStore eligibility;
+    @Mock private ApplicationEventPublisher events;
 
     @InjectMocks private BookingServiceImpl service;
 
@@ -71,12 +96,14 @@ class BookingServiceImplTest {
 
         BookingResponse r = service.create(userId, dto);
 
+        verify(lockStrategy).lockItem(5L);
         assertThat(r.status()).isEqualTo("WAITING");
         assertThat(r.id()).isEqualTo(100L);
 
         ArgumentCaptor<Booking> cap = ArgumentCaptor.forClass(Booking.class);
         verify(bookingRepo).save(cap.capture());
         assertThat(cap.getValue().getStatus()).isEqualTo(BookingStatus.WAITING);
+        verify(events).publishEvent(ItemChangedEvent.bookings(5L));
     }
 
     @Test
@@ -147,6 +174,69 @@ class BookingServiceImplTest {
         assertThatThrownBy(() -> service.create(uid, dto)).isInstanceOf(BadRequestException.class);
     }
 
+    @Test
+    @DisplayName("create(): overlap index reports a clash -> 400 without DB overlap query")
+    void create_indexOverlap_400() {
+        long uid = 10L;
+        var dto = new BookingCreateDto(5L, FIXED_NOW.plusDays(1), FIXED_NOW.plusDays(2));
+
+        when(userRepo.findById(uid)).thenReturn(Optional.of(User.builder().id(uid).build()));
+        when(itemRepo.findById(5L)).thenReturn(Optional.of(
+                Item.builder().id(5L).available(true).owner(User.builder().id(1L).build()).build()
+        ));
+        when(overlapIndex.isEnabled()).thenReturn(true);
+        when(overlapIndex.overlaps(eq(5L), any(Instant.class), any(Instant.class))).thenReturn(true);
+
+        assertThatThrownBy(() -> service.create(uid, dto)).isInstanceOf(BadRequestException.class);
+        verify(bookingRepo, never()).hasOverlap(any(), any(), any(), any());
+        verify(bookingRepo, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("create(): overlap check and tracked slot use the stored instants, also on a non-UTC host")
+    void create_overlapCheckedWithStoredInstants() {
+        TimeZone defaultZone = TimeZone.getDefault();
+        TimeZone.setDefault(TimeZone.getTimeZone("Europe/Moscow"));
+        try {
+            long uid = 10L;
+            var dto = new BookingCreateDto(5L, FIXED_NOW.plusDays(1), FIXED_NOW.plusDays(2));
+            when(userRepo.findById(uid)).thenReturn(Optional.of(User.builder().id(uid).build()));
+            when(itemRepo.findById(5L)).thenReturn(Optional.of(
+                    Item.builder().id(5L).available(true).owner(User.builder().id(1L).build()).build()
+            ));
+            when(overlapIndex.isEnabled()).thenReturn(true);
+            when(bookingRepo.save(any(Booking.class))).thenAnswer(inv -> inv.getArgument(0));
+
+            service.create(uid, dto);
+
+            ArgumentCaptor<Booking> saved = ArgumentCaptor.forClass(Booking.class);
+            verify(bookingRepo).save(saved.capture());
+            verify(overlapIndex).overlaps(5L, saved.getValue().getStart(), saved.getValue().getEnd());
+            verify(overlapIndex).track(saved.getValue());
+        } finally {
+            TimeZone.setDefault(defaultZone);
+        }
+    }
+
+    @Test
+    @DisplayName("create(): index says free and verify-with-db is on -> DB query decides")
+    void create_indexFree_verifiedByDb() {
+        long uid = 10L;
+        var dto = new BookingCreateDto(5L, FIXED_NOW.plusDays(1), FIXED_NOW.plusDays(2));
+
+        when(userRepo.findById(uid)).thenReturn(Optional.of(User.builder().id(uid).build()));
+        when(itemRepo.findById(5L)).thenReturn(Optional.of(
+                Item.builder().id(5L).available(true).owner(User.builder().id(1L).build()).build()
+        ));
+        when(overlapIndex.isEnabled()).thenReturn(true);
+        when(overlapIndex.overlaps(eq(5L), any(Instant.class), any(Instant.class))).thenReturn(false);
+        when(overlapIndex.isVerifyWithDb()).thenReturn(true);
+        when(bookingRepo.hasOverlap(eq(5L), any(), any(Instant.class), any(Instant.class))).thenReturn(true);
+
+        assertThatThrownBy(() -> service.create(uid, dto)).isInstanceOf(BadRequestException.class);
+        verify(bookingRepo, never()).save(any());
+    }
+
     @Test
     @DisplayName("approve(true): owner changes status from WAITING to APPROVED")
     void approve_true_ok() {
@@ -154,7 +244,7 @@ class BookingServiceImplTest {
         var owner = User.builder().id(ownerId).build();
         var item  = Item.builder().id(5L).owner(owner).build();
         var booking = Booking.builder()
-                .id(100L).item(item)
+                .id(100L).item(item).ownerId(item.getOwner().getId())
                 .booker(User.builder().id(10L).build())
                 .status(BookingStatus.WAITING)
                 .build();
@@ -164,6 +254,8 @@ class BookingServiceImplTest {
 
         var r = service.approve(ownerId, 100L, true);
         assertThat(r.status()).isEqualTo("APPROVED");
+        verify(events).publishEvent(ItemChangedEvent.bookings(5L));
+        verify(eligibility).recordApproved(List.of(new BookingEnd(10L, 5L, booking.getEnd())));
     }
 
     @Test
@@ -173,7 +265,7 @@ class BookingServiceImplTest {
         var owner = User.builder().id(ownerId).build();
         var item  = Item.builder().id(5L).owner(owner).build();
         var booking = Booking.builder()
-                .id(100L).item(item)
+                .id(100L).item(item).ownerId(item.getOwner().getId())
                 .booker(User.builder().id(10L).build())
                 .status(BookingStatus.WAITING)
                 .build();
@@ -183,6 +275,8 @@ class BookingServiceImplTest {
 
         var r = service.approve(ownerId, 100L, false);
         assertThat(r.status()).isEqualTo("REJECTED");
+        verify(overlapIndex).untrack(booking);
+        verifyNoInteractions(eligibility);
     }
 
     @Test
@@ -190,7 +284,7 @@ class BookingServiceImplTest {
     void approve_notOwner_403() {
         var item = Item.builder().id(5L).owner(User.builder().id(1L).build()).build();
         var booking = Booking.builder()
-                .id(100L).item(item)
+                .id(100L).item(item).ownerId(item.getOwner().getId())
                 .booker(User.builder().id(10L).build())
                 .status(BookingStatus.WAITING)
                 .build();
@@ -217,7 +311,7 @@ class BookingServiceImplTest {
     void approve_alreadyFinalized_400() {
         var item = Item.builder().id(5L).owner(User.builder().id(1L).build()).build();
         var booking = Booking.builder()
-                .id(100L).item(item)
+                .id(100L).item(item).ownerId(item.getOwner().getId())
                 .booker(User.builder().id(10L).build())
                 .status(BookingStatus.APPROVED)
                 .build();
@@ -235,7 +329,7 @@ class BookingServiceImplTest {
         var owner = User.builder().id(1L).build();
         var item  = Item.builder().id(5L).owner(owner).build();
         var booking = Booking.builder()
-                .id(100L).item(item)
+                .id(100L).item(item).ownerId(item.getOwner().getId())
                 .booker(User.builder().id(2L).build())
                 .status(BookingStatus.WAITING)
                 .build();
@@ -252,7 +346,7 @@ class BookingServiceImplTest {
         var booker = User.builder().id(2L).build();
         var item  = Item.builder().id(5L).owner(owner).build();
         var booking = Booking.builder()
-                .id(100L).item(item).booker(booker)
+                .id(100L).item(item).ownerId(item.getOwner().getId()).booker(booker)
                 .status(BookingStatus.WAITING)
                 .build();
 
@@ -268,7 +362,7 @@ class BookingServiceImplTest {
         var booker = User.builder().id(2L).build();
         var item  = Item.builder().id(5L).owner(owner).build();
         var booking = Booking.builder()
-                .id(100L).item(item).booker(booker)
+                .id(100L).item(item).ownerId(item.getOwner().getId()).booker(booker)
                 .status(BookingStatus.WAITING)
                 .build();
 
@@ -285,6 +379,157 @@ class BookingServiceImplTest {
         assertThatThrownBy(() -> service.get(1L, 999L)).isInstanceOf(NotFoundException.class);
     }
 
+    @Nested
+    @DisplayName("createBatch()")
+    class Batch {
+
+        private final User booker = User.builder().id(10L).build();
+        private final User owner = User.builder().id(1L).build();
+        private final Item drill = Item.builder().id(5L).available(true).owner(owner).build();
+        private final Item saw = Item.builder().id(6L).available(true).owner(owner).build();
+
+        private BookingCreateDto dto(Long itemId, int fromHour, int toHour) {
+            return new BookingCreateDto(itemId, FIXED_NOW.plusHours(fromHour), FIXED_NOW.plusHours(toHour));
+        }
+
+        private void stubSaveAll() {
+            when(bookingRepo.saveAll(anyList())).thenAnswer(inv -> {
+                List<Booking> list = inv.getArgument(0);
+                long id = 100;
+                for (Booking b : list) b.setId(id++);
+                return list;
+            });
+        }
+
+        @Test
+        @DisplayName("PARTIAL: unknown item, stored overlap and in-batch overlap are rejected, the rest is saved")
+        void partial_mixedResults() {
+            when(userRepo.findById(10L)).thenReturn(Optional.of(booker));
+            when(itemRepo.findAllById(List.of(5L, 6L, 99L))).thenReturn(List.of(drill, saw));
+            Instant storedStart = dto(5L, 30, 31).start().atZone(ZoneId.systemDefault()).toInstant();
+            when(bookingRepo.findWindowsInRange(eq(5L), anyCollection(), any(), any()))
+                    .thenReturn(List.of(new BookingWindow(storedStart, storedStart.plusSeconds(3600))));
+            when(bookingRepo.findWindowsInRange(eq(6L), anyCollection(), any(), any())).thenReturn(List.of());
+            stubSaveAll();
+
+            var results = service.createBatch(10L, List.of(
+                    dto(5L, 24, 26),   // ok
+                    dto(6L, 24, 26),   // ok, other item
+                    dto(99L, 24, 26),  // unknown item
+                    dto(5L, 25, 27),   // overlaps entry 0
+                    dto(5L, 30, 32)    // overlaps stored booking
+            ), BookingBatchMode.PARTIAL);
+
+            assertThat(results).extracting(BookingBatchResult::index).containsExactly(0, 1, 2, 3, 4);
+            assertThat(results.get(0).booking().id()).isNotNull();
+            assertThat(results.get(1).booking().item().id()).isEqualTo(6L);
+            assertThat(results.get(2).error()).isEqualTo("bookings[2]: item not found");
+            assertThat(results.get(3).error()).contains("overlaps");
+            assertThat(results.get(4).error()).contains("overlaps");
+
+            verify(lockStrategy).lockItems(Set.of(5L, 6L));
+            verify(bookingRepo, times(1)).findWindowsInRange(eq(5L), anyCollection(), any(), any());
+            verify(bookingRepo, never()).hasOverlap(any(), any(), any(), any());
+            verify(events).publishEvent(ItemChangedEvent.bookings(5L));
+            verify(events).publishEvent(ItemChangedEvent.bookings(6L));
+        }
+
+        @Test
+        @DisplayName("ALL_OR_NOTHING: an overlap inside the batch fails the request and nothing is saved")
+        void allOrNothing_overlap_400() {
+            when(userRepo.findById(10L)).thenReturn(Optional.of(booker));
+            when(itemRepo.findAllById(List.of(5L))).thenReturn(List.of(drill));
+            when(bookingRepo.findWindowsInRange(eq(5L), anyCollection(), any(), any())).thenReturn(List.of());
+
+            assertThatThrownBy(() -> service.createBatch(10L,
+                    List.of(dto(5L, 24, 26), dto(5L, 25, 27)), BookingBatchMode.ALL_OR_NOTHING))
+                    .isInstanceOf(BadRequestException.class)
+                    .hasMessage("bookings[1]: booking time overlaps with existing booking");
+            verify(bookingRepo, never()).saveAll(anyList());
+        }
+
+        @Test
+        @DisplayName("ALL_OR_NOTHING: own item -> 404 before any lock is taken")
+        void allOrNothing_ownItem_404() {
+            when(userRepo.findById(1L)).thenReturn(Optional.of(owner));
+            when(itemRepo.findAllById(List.of(5L))).thenReturn(List.of(drill));
+
+            assertThatThrownBy(() -> service.createBatch(1L, List.of(dto(5L, 24, 26)), BookingBatchMode.ALL_OR_NOTHING))
+                    .isInstanceOf(NotFoundException.class);
+            verifyNoInteractions(lockStrategy);
+        }
+    }
+
+    @Nested
+    @DisplayName("approveBulk()")
+    class Bulk {
+
+        @Test
+        @DisplayName("per-id results; only owned WAITING bookings go to the single UPDATE")
+        void mixedIds() {
+            when(bookingRepo.findOwnership(List.of(1L, 2L, 3L, 4L, 5L))).thenReturn(List.of(
+                    new BookingOwnership(1L, 50L, 7L, BookingStatus.WAITING),
+                    new BookingOwnership(2L, 51L, 7L, BookingStatus.WAITING),
+                    new BookingOwnership(3L, 52L, 8L, BookingStatus.WAITING),
+                    new BookingOwnership(4L, 50L, 7L, BookingStatus.APPROVED)));
+            when(bookingRepo.decideWaiting(List.of(1L, 2L), BookingStatus.REJECTED)).thenReturn(2);
+
+            var results = service.approveBulk(7L, List.of(1L, 2L, 3L, 4L, 5L, 1L), false);
+
+            assertThat(results).extracting(BookingDecisionResult::id).containsExactly(1L, 2L, 3L, 4L, 5L);
+            assertThat(results).extracting(BookingDecisionResult::status)
+                    .containsExactly("REJECTED", "REJECTED", null, null, null);
+            assertThat(results).extracting(BookingDecisionResult::error)
+                    .containsExactly(null, null, "only owner can approve",
+                            "booking is not in WAITING state", "booking not found");
+            verify(overlapIndex).untrack(50L, 1L);
+            verify(overlapIndex).untrack(51L, 2L);
+            verify(events).publishEvent(ItemChangedEvent.bookings(50L));
+            verify(events).publishEvent(ItemChangedEvent.bookings(51L));
+            verify(bookingRepo, never()).findById(any());
+        }
+
+        @Test
+        @DisplayName("approved bookings are recorded in the comment eligibility store")
+        void approved_recordsEligibility() {
+            Instant end = Instant.parse("2030-01-01T12:00:00Z");
+            when(bookingRepo.findOwnership(List.of(1L, 2L))).thenReturn(List.of(
+                    new BookingOwnership(1L, 50L, 7L, BookingStatus.WAITING),
+                    new BookingOwnership(2L, 51L, 7L, BookingStatus.WAITING)));
+            when(bookingRepo.decideWaiting(List.of(1L, 2L), BookingStatus.APPROVED)).thenReturn(2);
+            List<BookingEnd> ends = List.of(new BookingEnd(3L, 50L, end), new BookingEnd(3L, 51L, end));
+            when(bookingRepo.findEarliestEnds(List.of(1L, 2L))).thenReturn(ends);
+
+            service.approveBulk(7L, List.of(1L, 2L), true);
+
+            verify(eligibility).recordApproved(ends);
+            verifyNoInteractions(overlapIndex);
+        }
+
+        @Test
+        @DisplayName("nothing eligible -> no UPDATE")
+        void nothingEligible() {
+            when(bookingRepo.findOwnership(List.of(9L))).thenReturn(List.of());
+
+            assertThat(service.approveBulk(7L, List.of(9L), true)).singleElement()
+                    .extracting(BookingDecisionResult::error).isEqualTo("booking not found");
+            verify(bookingRepo, never()).decideWaiting(any(), any());
+        }
+
+        @Test
+        @DisplayName("row decided concurrently (UPDATE count differs) -> 409")
+        void concurrentChange_409() {
+            when(bookingRepo.findOwnership(List.of(1L, 2L))).thenReturn(List.of(
+                    new BookingOwnership(1L, 50L, 7L, BookingStatus.WAITING),
+                    new BookingOwnership(2L, 50L, 7L, BookingStatus.WAITING)));
+            when(bookingRepo.decideWaiting(List.of(1L, 2L), BookingStatus.APPROVED)).thenReturn(1);
+
+            assertThatThrownBy(() -> service.approveBulk(7L, List.of(1L, 2L), true))
+                    .isInstanceOf(ConflictException.class);
+            verifyNoInteractions(events);
+        }
+    }
+
     @Nested
     @DisplayName("listUser / listOwner: all states")
     class Lists {
@@ -292,71 +537,120 @@ class BookingServiceImplTest {
         @ParameterizedTest(name = "listUser: state={0}")
         @EnumSource(BookingStateParam.class)
         void listUser_allStates(BookingStateParam state) {
-            when(userRepo.existsById(10L)).thenReturn(true);
-
-            switch (state) {
-                case ALL -> when(bookingRepo.findByBooker_IdOrderByStartDesc(eq(10L), any(PageRequest.class)))
-                        .thenReturn(List.of());
-                case CURRENT -> when(bookingRepo.findByBooker_IdAndStartBeforeAndEndAfterOrderByStartDesc(
-                        eq(10L), any(Instant.class), any(Instant.class), any(PageRequest.class)))
-                        .thenReturn(List.of());
-                case PAST -> when(bookingRepo.findByBooker_IdAndEndBeforeOrderByStartDesc(
-                        eq(10L), any(Instant.class), any(PageRequest.class)))
-                        .thenReturn(List.of());
-                case FUTURE -> when(bookingRepo.findByBooker_IdAndStartAfterOrderByStartDesc(
-                        eq(10L), any(Instant.class), any(PageRequest.class)))
-                        .thenReturn(List.of());
-                case WAITING -> when(bookingRepo.findByBooker_IdAndStatusOrderByStartDesc(
-                        eq(10L), eq(BookingStatus.WAITING), any(PageRequest.class)))
-                        .thenReturn(List.of());
-                case REJECTED -> when(bookingRepo.findByBooker_IdAndStatusOrderByStartDesc(
-                        eq(10L), eq(BookingStatus.REJECTED), any(PageRequest.class)))
-                        .thenReturn(List.of());
-            }
-
-            assertThat(service.listUser(10L, state, 0, 10)).isNotNull();
+            when(userExistence.exists(10L)).thenReturn(true);
+            when(bookingRepo.pageByBooker(eq(10L), eq(state), any(Instant.class), eq(PageRequest.of(1, 10))))
+                    .thenReturn(List.of());
+
+            assertThat(service.listUser(10L, state, 10, 10)).isNotNull();
         }
 
         @ParameterizedTest(name = "listOwner: state={0}")
         @EnumSource(BookingStateParam.class)
         void listOwner_allStates(BookingStateParam state) {
-            when(userRepo.existsById(1L)).thenReturn(true);
-
-            switch (state) {
-                case ALL -> when(bookingRepo.findByItem_Owner_IdOrderByStartDesc(eq(1L), any(PageRequest.class)))
-                        .thenReturn(List.of());
-                case CURRENT -> when(bookingRepo.findByItem_Owner_IdAndStartBeforeAndEndAfterOrderByStartDesc(
-                        eq(1L), any(Instant.class), any(Instant.class), any(PageRequest.class)))
-                        .thenReturn(List.of());
-                case PAST -> when(bookingRepo.findByItem_Owner_IdAndEndBeforeOrderByStartDesc(
-                        eq(1L), any(Instant.class), any(PageRequest.class)))
-                        .thenReturn(List.of());
-                case FUTURE -> when(bookingRepo.findByItem_Owner_IdAndStartAfterOrderByStartDesc(
-                        eq(1L), any(Instant.class), any(PageRequest.class)))
-                        .thenReturn(List.of());
-                case WAITING -> when(bookingRepo.findByItem_Owner_IdAndStatusOrderByStartDesc(
-                        eq(1L), eq(BookingStatus.WAITING), any(PageRequest.class)))
-                        .thenReturn(List.of());
-                case REJECTED -> when(bookingRepo.findByItem_Owner_IdAndStatusOrderByStartDesc(
-                        eq(1L), eq(BookingStatus.REJECTED), any(PageRequest.class)))
-                        .thenReturn(List.of());
-            }
+            when(userExistence.exists(1L)).thenReturn(true);
+            when(bookingRepo.pageByOwner(eq(1L), eq(state), any(Instant.class), eq(PageRequest.of(0, 10))))
+                    .thenReturn(List.of());
 
             assertThat(service.listOwner(1L, state, 0, 10)).isNotNull();
         }
 
+        @Test
+        @DisplayName("listOwner(): projection rows are mapped to responses")
+        void listOwner_mapsProjection() {
+            when(userExistence.exists(1L)).thenReturn(true);
+            Instant t = Instant.parse("2030-01-01T10:00:00Z");
+            when(bookingRepo.pageByOwner(eq(1L), eq(BookingStateParam.ALL), any(Instant.class), any(PageRequest.class)))
+                    .thenReturn(List.of(new BookingView(7L, t, t.plusSeconds(60), BookingStatus.APPROVED, 10L, 5L, "Drill")));
+
+            var out = service.listOwner(1L, BookingStateParam.ALL, 0, 10);
+
+            assertThat(out).singleElement().satisfies(r -> {
+                assertThat(r.id()).isEqualTo(7L);
+                assertThat(r.status()).isEqualTo("APPROVED");
+                assertThat(r.booker().id()).isEqualTo(10L);
+                assertThat(r.item()).isEqualTo(new BookingResponse.ItemShort(5L, "Drill"));
+            });
+        }
+
+        @Test
+        @DisplayName("listUserByCursor(): size + 1 rows -> page of size and cursor of its last row")
+        void listUserByCursor_nextCursor() {
+            when(userExistence.exists(10L)).thenReturn(true);
+            Instant t = Instant.parse("2030-01-01T10:00:00Z");
+            var rows = List.of(
+                    new BookingView(3L, t.plusSeconds(20), t.plusSeconds(30), BookingStatus.WAITING, 10L, 5L, "Drill"),
+                    new BookingView(2L, t.plusSeconds(10), t.plusSeconds(30), BookingStatus.WAITING, 10L, 5L, "Drill"),
+                    new BookingView(1L, t, t.plusSeconds(30), BookingStatus.WAITING, 10L, 5L, "Drill"));
+            when(bookingRepo.seekByBooker(eq(10L), eq(BookingStateParam.ALL), any(Instant.class), isNull(), eq(3)))
+                    .thenReturn(rows);
+
+            var page = service.listUserByCursor(10L, BookingStateParam.ALL, "", 2);
+
+            assertThat(page.items()).extracting(BookingResponse::id).containsExactly(3L, 2L);
+            assertThat(BookingCursor.decode(page.nextCursor()))
+                    .isEqualTo(new BookingCursor(t.plusSeconds(10), 2L));
+        }
+
+        @Test
+        @DisplayName("listOwnerByCursor(): last page has no next cursor; cursor is passed to the seek query")
+        void listOwnerByCursor_lastPage() {
+            when(userExistence.exists(1L)).thenReturn(true);
+            var cursor = new BookingCursor(Instant.parse("2030-01-01T10:00:00Z"), 42L);
+            when(bookingRepo.seekByOwner(eq(1L), eq(BookingStateParam.PAST), any(Instant.class), eq(cursor), eq(11)))
+                    .thenReturn(List.of());
+
+            var page = service.listOwnerByCursor(1L, BookingStateParam.PAST, cursor.encode(), 10);
+
+            assertThat(page.items()).isEmpty();
+            assertThat(page.nextCursor()).isNull();
+        }
+
+        @Test
+        @DisplayName("listUserByCursor(): malformed cursor -> 400")
+        void listUserByCursor_badCursor_400() {
+            when(userExistence.exists(10L)).thenReturn(true);
+            assertThatThrownBy(() -> service.listUserByCursor(10L, BookingStateParam.ALL, "%%%", 10))
+                    .isInstanceOf(BadRequestException.class);
+        }
+
         @Test
         @DisplayName("listUser(): 404 if user not found")
         void listUser_userNotFound_404() {
-            when(userRepo.existsById(10L)).thenReturn(false);
+            when(userExistence.exists(10L)).thenReturn(false);
             assertThatThrownBy(() -> service.listUser(10L, BookingStateParam.ALL, 0, 10))
                     .isInstanceOf(NotFoundException.class);
         }
 
+        @Test
+        @DisplayName("exportOwner(): streamed rows are mapped and handed to the sink in order")
+        void exportOwner_streamsMappedRows() {
+            when(userExistence.exists(1L)).thenReturn(true);
+            Instant t = Instant.parse("2030-01-01T10:00:00Z");
+            when(bookingRepo.streamByOwner(eq(1L), eq(BookingStateParam.PAST), any(Instant.class)))
+                    .thenReturn(Stream.of(
+                            new BookingView(2L, t.plusSeconds(10), t.plusSeconds(30), BookingStatus.APPROVED, 10L, 5L, "Drill"),
+                            new BookingView(1L, t, t.plusSeconds(30), BookingStatus.REJECTED, 11L, 5L, "Drill")));
+            List<BookingResponse> sink = new ArrayList<>();
+
+            service.exportOwner(1L, BookingStateParam.PAST, sink::add);
+
+            assertThat(sink).extracting(BookingResponse::id).containsExactly(2L, 1L);
+            assertThat(sink.get(1).status()).isEqualTo("REJECTED");
+        }
+
+        @Test
+        @DisplayName("exportOwner(): 404 before any row if owner not found")
+        void exportOwner_ownerNotFound_404() {
+            when(userExistence.exists(1L)).thenReturn(false);
+            assertThatThrownBy(() -> service.exportOwner(1L, BookingStateParam.ALL, r -> { }))
+                    .isInstanceOf(NotFoundException.class);
+            verify(bookingRepo, never()).streamByOwner(any(), any(), any());
+        }
+
         @Test
         @DisplayName("listOwner(): 404 if owner not found")
         void listOwner_ownerNotFound_404() {
-            when(userRepo.existsById(1L)).thenReturn(false);
+            when(userExistence.exists(1L)).thenReturn(false);
             assertThatThrownBy(() -> service.listOwner(1L, BookingStateParam.ALL, 0, 10))
                     .isInstanceOf(NotFoundException.class);
         }
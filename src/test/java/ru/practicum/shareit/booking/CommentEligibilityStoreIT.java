@@ -0,0 +1,117 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.CommentEligibility;
+import ru.practicum.shareit.booking.repo.BookingRepository;
+import ru.practicum.shareit.booking.repo.CommentEligibilityRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.service.CommentEligibilityStore;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repo.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repo.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("CommentEligibilityStore")
+class CommentEligibilityStoreIT {
+
+    @Autowired CommentEligibilityStore store;
+    @Autowired CommentEligibilityRepository eligibilityRepo;
+    @Autowired BookingService bookingService;
+    @Autowired BookingRepository bookingRepo;
+    @Autowired UserRepository userRepo;
+    @Autowired ItemRepository itemRepo;
+    @Autowired UserService userService;
+
+    User owner;
+    User booker;
+    Item item;
+    Instant now;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepo.save(User.builder().name("Owner").email("o+" + System.nanoTime() + "@ex.com").build());
+        booker = userRepo.save(User.builder().name("Booker").email("b+" + System.nanoTime() + "@ex.com").build());
+        item = itemRepo.save(Item.builder().name("Drill").description("d").available(true).owner(owner).build());
+        now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    private Booking booking(Instant end, BookingStatus status) {
+        return bookingRepo.save(Booking.builder().item(item).booker(booker)
+                .start(end.minus(1, ChronoUnit.DAYS)).end(end).status(status).build());
+    }
+
+    private CommentEligibility.Key key() {
+        return new CommentEligibility.Key(booker.getId(), item.getId());
+    }
+
+    @Test
+    @DisplayName("approval records the booking end; comments allowed from then on")
+    void approve_recordsEnd() {
+        Instant end = now.plus(2, ChronoUnit.DAYS);
+        bookingService.approve(owner.getId(), booking(end, BookingStatus.WAITING).getId(), true);
+
+        assertThat(eligibilityRepo.findById(key())).get()
+                .extracting(CommentEligibility::getEligibleFrom).isEqualTo(end);
+        assertThat(store.canComment(booker.getId(), item.getId(), now)).isFalse();
+        assertThat(store.canComment(booker.getId(), item.getId(), end)).isTrue();
+    }
+
+    @Test
+    @DisplayName("a later approval of an earlier booking moves the time earlier")
+    void earlierApproval_movesEarlier() {
+        Instant late = now.plus(5, ChronoUnit.DAYS);
+        Instant early = now.minus(1, ChronoUnit.DAYS);
+        bookingService.approve(owner.getId(), booking(late, BookingStatus.WAITING).getId(), true);
+        bookingService.approveBulk(owner.getId(), List.of(booking(early, BookingStatus.WAITING).getId()), true);
+
+        assertThat(store.eligibleFrom(booker.getId(), item.getId())).contains(early);
+        assertThat(store.canComment(booker.getId(), item.getId(), now)).isTrue();
+    }
+
+    @Test
+    @DisplayName("no row yet -> computed from bookings and recorded")
+    void miss_filledFromBookings() {
+        Instant end = now.minus(2, ChronoUnit.DAYS);
+        booking(end, BookingStatus.APPROVED);
+        booking(now.minus(5, ChronoUnit.DAYS), BookingStatus.REJECTED);
+
+        assertThat(store.eligibleFrom(booker.getId(), item.getId())).contains(end);
+        assertThat(eligibilityRepo.existsById(key())).isTrue();
+    }
+
+    @Test
+    @DisplayName("no approved booking -> not eligible, nothing recorded")
+    void noApprovedBooking_notEligible() {
+        booking(now.minus(2, ChronoUnit.DAYS), BookingStatus.REJECTED);
+
+        assertThat(store.eligibleFrom(booker.getId(), item.getId())).isEmpty();
+        assertThat(store.canComment(booker.getId(), item.getId(), now)).isFalse();
+        assertThat(eligibilityRepo.existsById(key())).isFalse();
+    }
+
+    @Test
+    @DisplayName("the row goes with its booker")
+    void bookerDeleted_rowCascaded() {
+        bookingService.approve(owner.getId(), booking(now.minus(1, ChronoUnit.DAYS), BookingStatus.WAITING).getId(), true);
+
+        userService.delete(booker.getId());
+
+        assertThat(eligibilityRepo.existsById(key())).isFalse();
+    }
+}
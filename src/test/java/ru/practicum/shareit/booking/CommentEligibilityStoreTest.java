@@ -0,0 +1,58 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.model.CommentEligibility;
+import ru.practicum.shareit.booking.repo.BookingRepository;
+import ru.practicum.shareit.booking.repo.CommentEligibilityRepository;
+import ru.practicum.shareit.booking.service.BookingLockStrategy;
+import ru.practicum.shareit.booking.service.CommentEligibilityStore;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CommentEligibilityStore: locking")
+class CommentEligibilityStoreTest {
+
+    @Mock private CommentEligibilityRepository repo;
+    @Mock private BookingRepository bookingRepo;
+    @Mock private BookingLockStrategy lockStrategy;
+
+    @InjectMocks private CommentEligibilityStore store;
+
+    @Test
+    @DisplayName("no row and no APPROVED booking -> empty, without the item lock or a second read")
+    void miss_noLock() {
+        when(repo.findById(any())).thenReturn(Optional.empty());
+        when(bookingRepo.findEarliestApprovedEnd(2L, 5L)).thenReturn(Optional.empty());
+
+        assertThat(store.eligibleFrom(2L, 5L)).isEmpty();
+
+        verify(repo, times(1)).findById(new CommentEligibility.Key(2L, 5L));
+        verifyNoInteractions(lockStrategy);
+        verify(repo, never()).insert(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("no row but an APPROVED booking -> row written under the item lock")
+    void fill_underLock() {
+        Instant end = Instant.parse("2030-01-01T00:00:00Z");
+        when(repo.findById(any())).thenReturn(Optional.empty());
+        when(bookingRepo.findEarliestApprovedEnd(2L, 5L)).thenReturn(Optional.of(end));
+
+        assertThat(store.eligibleFrom(2L, 5L)).contains(end);
+
+        var order = inOrder(lockStrategy, repo);
+        order.verify(lockStrategy).lockItem(5L);
+        order.verify(repo).insert(2L, 5L, end);
+    }
+}
@@ -0,0 +1,62 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.service.StripedBookingLockStrategy;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("StripedBookingLockStrategy")
+class StripedBookingLockStrategyTest {
+
+    /** 4 stripes: items 1 and 9 -> stripe 1, items 4 and 8 -> stripe 0. */
+    private final StripedBookingLockStrategy strategy = new StripedBookingLockStrategy(4, Duration.ofSeconds(2));
+
+    @Test
+    @DisplayName("lockItems(): stripes are taken in stripe order, not item order, so nothing is held while waiting")
+    void lockItems_stripeOrder() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch holding = new CountDownLatch(1);
+        CompletableFuture<Void> holder = inTransaction(() -> {
+            strategy.lockItem(8L);          // stripe 0
+            holding.countDown();
+        }, release);
+        assertThat(holding.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // items 1, 4 are stripes 1, 0: item order would take stripe 1 and then wait for stripe 0
+        CompletableFuture<Void> batch = inTransaction(() -> strategy.lockItems(List.of(1L, 4L)), new CountDownLatch(0));
+        Thread.sleep(200);
+
+        // stripe 1 must still be free
+        inTransaction(() -> strategy.lockItem(9L), new CountDownLatch(0)).get(5, TimeUnit.SECONDS);
+
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        batch.get(5, TimeUnit.SECONDS);
+    }
+
+    /** Runs {@code locking} as a transaction would, releasing its locks on completion once {@code release} opens. */
+    private static CompletableFuture<Void> inTransaction(Runnable locking, CountDownLatch release) {
+        return CompletableFuture.runAsync(() -> {
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                locking.run();
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } finally {
+                List<TransactionSynchronization> syncs = TransactionSynchronizationManager.getSynchronizations();
+                TransactionSynchronizationManager.clearSynchronization();
+                syncs.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            }
+        });
+    }
+}
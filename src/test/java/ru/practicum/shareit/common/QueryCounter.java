@@ -0,0 +1,39 @@
+package ru.practicum.shareit.common;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts SQL statement executions on the calling thread at the JDBC level, so statements of
+ * Hibernate and of {@code JdbcTemplate} alike are seen; a JDBC batch counts as one execution.
+ * Registered by {@link QueryCountingConfig}; use it to pin query budgets of an endpoint or service call.
+ */
+public class QueryCounter implements QueryExecutionListener {
+
+    private final ThreadLocal<AtomicInteger> counter = ThreadLocal.withInitial(AtomicInteger::new);
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        counter.get().incrementAndGet();
+    }
+
+    /** Number of statements issued on this thread while {@code action} ran. */
+    public int count(ThrowingRunnable action) throws Exception {
+        int before = counter.get().get();
+        action.run();
+        return counter.get().get() - before;
+    }
+
+    @FunctionalInterface
+    public interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.common;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+
+/**
+ * Test configuration that wraps the {@link DataSource} with a datasource-proxy feeding {@link QueryCounter};
+ * add with {@code @Import}. Independent of the SQL metrics switch, which may wrap it as well.
+ */
+@TestConfiguration
+public class QueryCountingConfig {
+
+    @Bean
+    public QueryCounter queryCounter() {
+        return new QueryCounter();
+    }
+
+    @Bean
+    public static BeanPostProcessor queryCounterDataSourceProxy(ObjectProvider<QueryCounter> queryCounter) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create(beanName, dataSource)
+                        .listener(queryCounter.getObject())
+                        .build();
+            }
+        };
+    }
+}
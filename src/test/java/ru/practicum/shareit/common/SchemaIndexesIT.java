@@ -0,0 +1,131 @@
+package ru.practicum.shareit.common;
+
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Flyway migrations against H2 (PostgreSQL mode): history and the columns of the query indexes.
+ * H2 picks indexes without statistics, so query plans are checked on PostgreSQL in {@link SchemaIndexesPostgresIT}.
+ */
+@JdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisplayName("SchemaIndexesIT")
+class SchemaIndexesIT {
+
+    @Autowired private JdbcTemplate jdbc;
+
+    private List<String> columns(String index) {
+        return jdbc.queryForList("""
+                SELECT LOWER(COLUMN_NAME) || ' ' || ORDERING_SPECIFICATION
+                FROM INFORMATION_SCHEMA.INDEX_COLUMNS
+                WHERE INDEX_NAME = ?
+                ORDER BY ORDINAL_POSITION""", String.class, index);
+    }
+
+    @Test
+    @DisplayName("common migrations applied in order")
+    void migrations_applied() {
+        List<String> versions = jdbc.queryForList("""
+                SELECT "version" FROM "flyway_schema_history"
+                WHERE "success" AND "version" IS NOT NULL
+                ORDER BY "installed_rank"
+                """, String.class);
+
+        assertThat(versions).containsExactly("1", "3", "4", "5", "6", "7");
+    }
+
+    @Test
+    @DisplayName("item bookings, newest first")
+    void itemStartIndex() {
+        assertThat(columns("idx_bookings_item_start_desc"))
+                .containsExactly("item_id ASC", "start_ts DESC", "id DESC");
+    }
+
+    @Test
+    @DisplayName("owner listing: owner_id on bookings, by state and newest first")
+    void ownerIndexes() {
+        assertThat(columns("idx_bookings_owner_status_start"))
+                .containsExactly("owner_id ASC", "status ASC", "start_ts ASC");
+        assertThat(columns("idx_bookings_owner_start_id"))
+                .containsExactly("owner_id ASC", "start_ts DESC", "id DESC");
+    }
+
+    @Test
+    @DisplayName("CURRENT / PAST / FUTURE listings and the phase sweep")
+    void phaseIndexes() {
+        assertThat(columns("idx_bookings_owner_phase_start"))
+                .containsExactly("owner_id ASC", "phase ASC", "start_ts DESC", "id DESC");
+        assertThat(columns("idx_bookings_booker_phase_start"))
+                .containsExactly("booker_id ASC", "phase ASC", "start_ts DESC", "id DESC");
+        assertThat(columns("idx_bookings_phase_start")).containsExactly("phase ASC", "start_ts ASC");
+        assertThat(columns("idx_bookings_phase_end")).containsExactly("phase ASC", "end_ts ASC");
+    }
+
+    @Test
+    @DisplayName("booker listing: booker_id with (start_ts DESC, id DESC) order")
+    void bookerStartIndex() {
+        assertThat(columns("idx_bookings_booker_start_id"))
+                .containsExactly("booker_id ASC", "start_ts DESC", "id DESC");
+    }
+
+    @Test
+    @DisplayName("comment eligibility: booker, item, status and end_ts")
+    void bookerItemStatusEndIndex() {
+        assertThat(columns("idx_bookings_booker_item_status_end"))
+                .containsExactly("booker_id ASC", "item_id ASC", "status ASC", "end_ts ASC");
+    }
+
+    @Test
+    @DisplayName("item comments: latest first, ties by id")
+    void commentItemCreatedIndex() {
+        assertThat(columns("idx_comments_item_created_id"))
+                .containsExactly("item_id ASC", "created DESC", "id DESC");
+    }
+
+    @Test
+    @DisplayName("request pages: items by request_id; own requests newest first")
+    void requestIndexes() {
+        assertThat(columns("idx_items_request")).containsExactly("request_id ASC");
+        assertThat(columns("idx_item_requests_requester_created"))
+                .containsExactly("requester_id ASC", "created DESC");
+    }
+
+    @Test
+    @DisplayName("superseded single-column indexes are gone")
+    void redundantIndexes_dropped() {
+        List<String> names = jdbc.queryForList("SELECT INDEX_NAME FROM INFORMATION_SCHEMA.INDEXES", String.class);
+
+        assertThat(names).doesNotContain(
+                "idx_bookings_item", "idx_bookings_item_start", "idx_bookings_booker",
+                "idx_items_owner", "idx_item_requests_requester", "idx_comments_item");
+    }
+
+    @Test
+    @DisplayName("upgrade of a database baselined at V1 keeps an index on owner_id and one leading with booker_id")
+    void baselinedDatabase_keepsReplacementIndexes() {
+        JdbcDataSource ds = new JdbcDataSource();
+        ds.setURL("jdbc:h2:mem:upgrade-" + UUID.randomUUID() + ";MODE=PostgreSQL;DATABASE_TO_UPPER=false;DB_CLOSE_DELAY=-1");
+        ds.setUser("sa");
+        JdbcTemplate upgraded = new JdbcTemplate(ds);
+
+        // a schema from before the composite indexes, stamped at version 1
+        Flyway.configure().dataSource(ds).locations("classpath:db/migration/common").target("1").load().migrate();
+        upgraded.execute("DROP INDEX idx_items_owner_id");
+        upgraded.execute("DROP INDEX idx_bookings_booker_start_id");
+        Flyway.configure().dataSource(ds).locations("classpath:db/migration/common").load().migrate();
+
+        List<String> names = upgraded.queryForList("SELECT INDEX_NAME FROM INFORMATION_SCHEMA.INDEXES", String.class);
+        assertThat(names).contains("idx_items_owner_id", "idx_bookings_booker_start_id");
+    }
+}
@@ -0,0 +1,154 @@
+package ru.practicum.shareit.common;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Flyway migrations and query plans on a real PostgreSQL (Testcontainers; skipped without Docker).
+ * Tables are empty, so sequential scans are disabled to make the planner show which index it can use.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("SchemaIndexesPostgresIT")
+class SchemaIndexesPostgresIT {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static JdbcTemplate jdbc;
+
+    @BeforeAll
+    static void migrate() {
+        SingleConnectionDataSource ds = new SingleConnectionDataSource(
+                POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword(), true);
+        Flyway.configure()
+                .dataSource(ds)
+                .locations("classpath:db/migration/common", "classpath:db/migration/postgresql")
+                .load()
+                .migrate();
+        jdbc = new JdbcTemplate(ds);
+        jdbc.execute("SET enable_seqscan = off");
+    }
+
+    private String explain(String sql) {
+        return String.join("\n", jdbc.queryForList("EXPLAIN " + sql, String.class));
+    }
+
+    @Test
+    @DisplayName("all migrations applied in order")
+    void migrations_applied() {
+        List<String> versions = jdbc.queryForList(
+                "SELECT version FROM flyway_schema_history WHERE success ORDER BY installed_rank", String.class);
+
+        assertThat(versions).containsExactly("1", "2", "3", "4", "5", "6", "7");
+    }
+
+    @Test
+    @DisplayName("item bookings newest first")
+    void itemBookings_useItemStartIndex() {
+        String plan = explain("""
+                SELECT b.id FROM bookings b
+                WHERE b.item_id = 1
+                ORDER BY b.start_ts DESC, b.id DESC
+                LIMIT 20""");
+
+        assertThat(plan).contains("idx_bookings_item_start_desc");
+    }
+
+    @Test
+    @DisplayName("owner listing: one range of owner_id in (start_ts DESC, id DESC) order")
+    void ownerListing_usesOwnerStartIndex() {
+        String plan = explain("""
+                SELECT b.id FROM bookings b JOIN items i ON i.id = b.item_id
+                WHERE b.owner_id = 1
+                ORDER BY b.start_ts DESC, b.id DESC
+                LIMIT 20""");
+
+        assertThat(plan).contains("idx_bookings_owner_start_id");
+    }
+
+    @Test
+    @DisplayName("owner listing by state: owner_id and status")
+    void ownerListingByStatus_usesOwnerStatusIndex() {
+        String plan = explain("""
+                SELECT b.id FROM bookings b
+                WHERE b.owner_id = 1 AND b.status = 'WAITING'
+                ORDER BY b.start_ts DESC, b.id DESC
+                LIMIT 20""");
+
+        assertThat(plan).contains("idx_bookings_owner_status_start");
+    }
+
+    @Test
+    @DisplayName("CURRENT listing: (owner_id, phase) ranges instead of a two-column time range")
+    void currentListing_usesOwnerPhaseIndex() {
+        String plan = explain("""
+                SELECT b.id FROM bookings b
+                WHERE b.owner_id = 1 AND b.phase IN ('FUTURE', 'CURRENT')
+                  AND b.start_ts < now() AND b.end_ts > now()
+                ORDER BY b.start_ts DESC, b.id DESC
+                LIMIT 20""");
+
+        assertThat(plan).contains("idx_bookings_owner_phase_start");
+    }
+
+    @Test
+    @DisplayName("phase sweep: FUTURE rows whose start has passed")
+    void sweep_usesPhaseStartIndex() {
+        String plan = explain("UPDATE bookings SET phase = 'CURRENT' WHERE phase = 'FUTURE' AND start_ts <= now()");
+
+        assertThat(plan).contains("idx_bookings_phase_start");
+    }
+
+    @Test
+    @DisplayName("booker listing: booker_id with (start_ts DESC, id DESC) order")
+    void bookerListing_usesBookerStartIndex() {
+        String plan = explain("""
+                SELECT b.id FROM bookings b
+                WHERE b.booker_id = 1
+                ORDER BY b.start_ts DESC, b.id DESC
+                LIMIT 20""");
+
+        assertThat(plan).contains("idx_bookings_booker_start_id");
+    }
+
+    @Test
+    @DisplayName("comment eligibility: booker, item, status and end_ts")
+    void commentEligibility_usesBookerItemStatusEndIndex() {
+        String plan = explain("""
+                SELECT 1 FROM bookings b
+                WHERE b.booker_id = 1 AND b.item_id = 2 AND b.status = 'APPROVED' AND b.end_ts < now()
+                LIMIT 1""");
+
+        assertThat(plan).contains("idx_bookings_booker_item_status_end");
+    }
+
+    @Test
+    @DisplayName("request pages: items by request_id")
+    void itemsByRequest_usesRequestIndex() {
+        String plan = explain("SELECT i.id FROM items i WHERE i.request_id = ANY(ARRAY[1, 2, 3])");
+
+        assertThat(plan).contains("idx_items_request");
+    }
+
+    @Test
+    @DisplayName("own requests: requester_id, newest first")
+    void ownRequests_usesRequesterCreatedIndex() {
+        String plan = explain("""
+                SELECT r.id FROM item_requests r
+                WHERE r.requester_id = 1
+                ORDER BY r.created DESC""");
+
+        assertThat(plan).contains("idx_item_requests_requester_created");
+    }
+}
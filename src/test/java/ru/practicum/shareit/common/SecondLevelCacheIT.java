@@ -0,0 +1,147 @@
+package ru.practicum.shareit.common;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repo.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repo.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repo.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repo.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Hibernate second-level and query cache (hibernate-cache.conf) on the real persistence setup. */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(QueryCountingConfig.class)
+@DisplayName("SecondLevelCacheIT")
+class SecondLevelCacheIT {
+
+    @Autowired UserRepository userRepo;
+    @Autowired ItemRepository itemRepo;
+    @Autowired ItemRequestRepository reqRepo;
+    @Autowired BookingRepository bookingRepo;
+    @Autowired UserService userService;
+    @Autowired EntityManagerFactory emf;
+    @Autowired TransactionTemplate tx;
+    @Autowired MeterRegistry registry;
+    @Autowired QueryCounter queries;
+
+    User owner;
+    User booker;
+    Item item;
+
+    @BeforeEach
+    void setUp() {
+        emf.getCache().evictAll();
+        owner = userRepo.save(User.builder().name("Owner").email("o+" + System.nanoTime() + "@ex.com").build());
+        booker = userRepo.save(User.builder().name("Booker").email("b+" + System.nanoTime() + "@ex.com").build());
+        item = itemRepo.save(Item.builder().name("Drill").description("d").available(true).owner(owner).build());
+    }
+
+    @Test
+    @DisplayName("findById — a second session reads User and Item without SQL")
+    void findById_servedFromCache() throws Exception {
+        itemRepo.findById(item.getId()).orElseThrow();
+        userRepo.findById(owner.getId()).orElseThrow();
+
+        int count = queries.count(() -> {
+            assertThat(itemRepo.findById(item.getId()).orElseThrow().getName()).isEqualTo("Drill");
+            assertThat(userRepo.findById(owner.getId()).orElseThrow().getName()).isEqualTo("Owner");
+        });
+
+        assertThat(count).isZero();
+    }
+
+    @Test
+    @DisplayName("Booking.item and Booking.booker proxies resolve from the cache")
+    void bookingAssociations_resolvedFromCache() throws Exception {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        Long bookingId = bookingRepo.save(Booking.builder().item(item).booker(booker)
+                .start(now.plus(1, ChronoUnit.DAYS)).end(now.plus(2, ChronoUnit.DAYS))
+                .status(BookingStatus.WAITING).build()).getId();
+
+        int count = queries.count(() -> tx.executeWithoutResult(s -> {
+            Booking booking = bookingRepo.findById(bookingId).orElseThrow();
+            assertThat(booking.getItem().getName()).isEqualTo("Drill");
+            assertThat(booking.getBooker().getName()).isEqualTo("Booker");
+        }));
+
+        // the booking row only
+        assertThat(count).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("an update is visible to the next session without a reload")
+    void update_refreshesCachedEntry() throws Exception {
+        tx.executeWithoutResult(s -> itemRepo.findById(item.getId()).orElseThrow().setName("Hammer drill"));
+
+        int count = queries.count(() ->
+                assertThat(itemRepo.findById(item.getId()).orElseThrow().getName()).isEqualTo("Hammer drill"));
+
+        assertThat(count).isZero();
+    }
+
+    @Test
+    @DisplayName("items of a request — query cache hit, invalidated when an item is added")
+    void itemsByRequest_queryCache() throws Exception {
+        var request = reqRepo.save(ItemRequest.builder().description("Need a drill").requestor(booker)
+                .created(Instant.now()).build());
+        itemRepo.save(Item.builder().name("Drill 2").description("d").available(true)
+                .owner(owner).request(request).build());
+        assertThat(itemRepo.findAllByRequest_IdOrderByIdAsc(request.getId())).hasSize(1);
+
+        int count = queries.count(() ->
+                assertThat(itemRepo.findAllByRequest_IdOrderByIdAsc(request.getId())).hasSize(1));
+        assertThat(count).isZero();
+
+        itemRepo.save(Item.builder().name("Drill 3").description("d").available(true)
+                .owner(owner).request(request).build());
+
+        assertThat(itemRepo.findAllByRequest_IdOrderByIdAsc(request.getId()))
+                .extracting(Item::getName).containsExactly("Drill 2", "Drill 3");
+    }
+
+    @Test
+    @DisplayName("deleting the owner drops their cached items")
+    void ownerDelete_evictsItems() {
+        itemRepo.findById(item.getId()).orElseThrow();
+
+        userService.delete(owner.getId());
+
+        assertThat(itemRepo.findById(item.getId())).isEmpty();
+        assertThat(emf.getCache().contains(Item.class, item.getId())).isFalse();
+    }
+
+    @Test
+    @DisplayName("cache statistics are exported as hibernate.* meters")
+    void statistics_exportedToMetrics() {
+        itemRepo.findById(item.getId()).orElseThrow();
+        long hits = emf.unwrap(SessionFactory.class).getStatistics()
+                .getDomainDataRegionStatistics("items").getHitCount();
+
+        itemRepo.findById(item.getId()).orElseThrow();
+
+        FunctionCounter counter = registry.get("hibernate.second.level.cache.requests")
+                .tag("region", "items").tag("result", "hit").functionCounter();
+        assertThat(counter.count()).isEqualTo(hits + 1);
+    }
+}
@@ -0,0 +1,80 @@
+package ru.practicum.shareit.common;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repo.UserRepository;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"shareit.sql.metrics.enabled=true", "shareit.sql.query-budget=1"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Per-request SQL metrics")
+class SqlStatsIT {
+
+    @Autowired MockMvc mvc;
+    @Autowired MeterRegistry registry;
+    @Autowired UserRepository users;
+
+    @BeforeEach
+    void seed() {
+        users.deleteAll();
+        users.saveAll(List.of(
+                User.builder().name("Ann").email("ann@ex.com").build(),
+                User.builder().name("Bob").email("bob@ex.com").build(),
+                User.builder().name("Cid").email("cid@ex.com").build()));
+    }
+
+    @Test
+    @DisplayName("GET /users — one statement, three rows, tagged with the controller method")
+    void list_recordsStatementsRowsAndTime() throws Exception {
+        long requests = summary("shareit.sql.statements", "UserController.list").count();
+        double statements = summary("shareit.sql.statements", "UserController.list").totalAmount();
+        double rows = summary("shareit.sql.rows", "UserController.list").totalAmount();
+
+        mvc.perform(get("/users")).andExpect(status().isOk());
+
+        assertThat(summary("shareit.sql.statements", "UserController.list").count()).isEqualTo(requests + 1);
+        assertThat(summary("shareit.sql.statements", "UserController.list").totalAmount()).isEqualTo(statements + 1);
+        assertThat(summary("shareit.sql.rows", "UserController.list").totalAmount()).isEqualTo(rows + 3);
+        assertThat(registry.get("shareit.sql.time").tag("handler", "UserController.list").timer().count())
+                .isEqualTo(requests + 1);
+        assertThat(budgetExceeded("UserController.list")).isZero();
+    }
+
+    @Test
+    @DisplayName("POST /users — more statements than the budget are counted")
+    void create_overBudget_counted() throws Exception {
+        mvc.perform(post("/users")
+                        .contentType("application/json")
+                        .content("{\"name\":\"Dan\",\"email\":\"dan@ex.com\"}"))
+                .andExpect(status().isCreated());
+
+        assertThat(summary("shareit.sql.statements", "UserController.create").max()).isGreaterThan(1);
+        assertThat(budgetExceeded("UserController.create")).isEqualTo(1);
+    }
+
+    private DistributionSummary summary(String name, String handler) {
+        return DistributionSummary.builder(name).tag("handler", handler).register(registry);
+    }
+
+    private double budgetExceeded(String handler) {
+        Counter counter = registry.find("shareit.sql.budget.exceeded").tag("handler", handler).counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.ActiveProfiles;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
@@ -14,13 +15,15 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repo.UserRepository;
 
 import java.time.Instant;
+import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 @DataJpaTest
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
 @ActiveProfiles("test")
-@DisplayName("CommentRepositoryIT: ordering by created ASC")
+@DisplayName("CommentRepositoryIT: ordering, latest-N and keyset pages, comment counts")
 class CommentRepositoryIT {
 
     @Autowired private CommentRepository commentRepo;
@@ -28,16 +31,44 @@ class CommentRepositoryIT {
     @Autowired private UserRepository userRepo;
 
     @Test
-    @DisplayName("findByItem_IdOrderByCreatedAsc — returns [older, newer]")
-    void findByItem_IdOrderByCreatedAsc_ordersCorrectly() {
-        User u = userRepo.save(User.builder().name("u").email("u@e.com").build());
-        Item i = itemRepo.save(Item.builder().name("n").description("d").available(true).owner(u).build());
-
+    @DisplayName("latest N per item (oldest first) and keyset pages newest first; same-time ties by id")
+    void latestAndKeysetPages() {
+        User u = userRepo.save(User.builder().name("u").email("u2@e.com").build());
+        Item a = itemRepo.save(Item.builder().name("a").description("d").available(true).owner(u).build());
+        Item b = itemRepo.save(Item.builder().name("b").description("d").available(true).owner(u).build());
         Instant t0 = Instant.parse("2030-01-01T00:00:00Z");
-        Comment cOld = commentRepo.save(Comment.builder().text("one").item(i).author(u).created(t0).build());
-        Comment cNew = commentRepo.save(Comment.builder().text("two").item(i).author(u).created(t0.plusSeconds(10)).build());
+        for (int k = 0; k < 4; k++) {
+            commentRepo.save(Comment.builder().text("a" + k).item(a).author(u).created(t0.plusSeconds(k / 2)).build());
+        }
+        commentRepo.save(Comment.builder().text("b0").item(b).author(u).created(t0).build());
+        commentRepo.flush();
+
+        assertThat(commentRepo.findLatestForItems(List.of(a.getId(), b.getId()), 3))
+                .extracting(Comment::getText).containsExactly("a1", "b0", "a2", "a3");
+
+        List<Comment> first = commentRepo.findByItem_IdOrderByCreatedDescIdDesc(a.getId(), Limit.of(3));
+        assertThat(first).extracting(Comment::getText).containsExactly("a3", "a2", "a1");
+        Comment last = first.get(2);
+        assertThat(commentRepo.findByItemBefore(a.getId(), last.getCreated(), last.getId(), Limit.of(3)))
+                .extracting(Comment::getText).containsExactly("a0");
+    }
+
+    @Test
+    @DisplayName("comment counts: added per item, subtracted for a removed author")
+    void commentCounts() {
+        User u = userRepo.save(User.builder().name("u").email("u3@e.com").build());
+        User other = userRepo.save(User.builder().name("o").email("o3@e.com").build());
+        Item a = itemRepo.save(Item.builder().name("a").description("d").available(true).owner(u).build());
+        Item b = itemRepo.save(Item.builder().name("b").description("d").available(true).owner(u).build());
+        commentRepo.save(Comment.builder().text("x").item(a).author(other).build());
+        commentRepo.save(Comment.builder().text("y").item(a).author(u).build());
+        commentRepo.flush();
+
+        itemRepo.addComments(Map.of(a.getId(), 2, b.getId(), 0));
+        assertThat(itemRepo.commentCounts(List.of(a.getId(), b.getId())))
+                .containsExactlyInAnyOrderEntriesOf(Map.of(a.getId(), 2L, b.getId(), 0L));
 
-        var res = commentRepo.findByItem_IdOrderByCreatedAsc(i.getId());
-        assertThat(res).extracting(Comment::getText).containsExactly("one", "two");
+        assertThat(itemRepo.subtractCommentsOf(other.getId())).containsExactly(a.getId());
+        assertThat(itemRepo.commentCount(a.getId())).isEqualTo(1);
     }
 }
\ No newline at end of file
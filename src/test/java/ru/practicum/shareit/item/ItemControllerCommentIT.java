@@ -13,6 +13,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repo.BookingRepository;
+import ru.practicum.shareit.common.web.CursorResponses;
 import ru.practicum.shareit.item.dto.CommentCreateDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repo.CommentRepository;
@@ -23,8 +24,10 @@ import ru.practicum.shareit.user.repo.UserRepository;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -179,4 +182,100 @@ class ItemControllerCommentIT {
                 .andExpect(jsonPath("$.comments[0].text").value("first"))
                 .andExpect(jsonPath("$.comments[1].text").value("second"));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("GET /items/{id} — a cached response is refreshed after a new comment is committed")
+    void get_item_cacheInvalidatedByComment() throws Exception {
+        Instant now = Instant.now();
+        bookingRepo.save(Booking.builder()
+                .item(itemRepo.findById(itemId).orElseThrow())
+                .booker(userRepo.findById(bookerId).orElseThrow())
+                .start(now.minus(3, ChronoUnit.DAYS))
+                .end(now.minus(2, ChronoUnit.DAYS))
+                .status(BookingStatus.APPROVED)
+                .build());
+
+        mvc.perform(get("/items/{itemId}", itemId))
+                .andExpect(jsonPath("$.comments", hasSize(0)));
+        mvc.perform(get("/items/{itemId}", itemId).header(USER_HEADER, ownerId))
+                .andExpect(jsonPath("$.comments", hasSize(0)));
+
+        mvc.perform(post("/items/{itemId}/comment", itemId)
+                        .header(USER_HEADER, bookerId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsBytes(new CommentCreateDto("cached?"))))
+                .andExpect(status().isCreated());
+
+        mvc.perform(get("/items/{itemId}", itemId))
+                .andExpect(jsonPath("$.comments", hasSize(1)));
+        mvc.perform(get("/items/{itemId}", itemId).header(USER_HEADER, ownerId))
+                .andExpect(jsonPath("$.comments", hasSize(1)))
+                .andExpect(jsonPath("$.lastBooking", notNullValue()));
+    }
+
+    @Test
+    @DisplayName("GET /items/{id} embeds the latest comments and the count; older ones are paged via /comments")
+    void get_item_latestComments_countAndPaging() throws Exception {
+        Instant now = Instant.now();
+        bookingRepo.save(Booking.builder()
+                .item(itemRepo.findById(itemId).orElseThrow())
+                .booker(userRepo.findById(bookerId).orElseThrow())
+                .start(now.minus(3, ChronoUnit.DAYS))
+                .end(now.minus(2, ChronoUnit.DAYS))
+                .status(BookingStatus.APPROVED)
+                .build());
+        for (int i = 0; i < 12; i++) {
+            mvc.perform(post("/items/{itemId}/comment", itemId)
+                            .header(USER_HEADER, bookerId)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(om.writeValueAsBytes(new CommentCreateDto("c" + i))))
+                    .andExpect(status().isCreated());
+        }
+
+        String olderCursor = om.readTree(mvc.perform(get("/items/{itemId}", itemId))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.commentCount").value(12))
+                        .andExpect(jsonPath("$.comments", hasSize(10)))
+                        .andExpect(jsonPath("$.comments[0].text").value("c2"))
+                        .andExpect(jsonPath("$.comments[9].text").value("c11"))
+                        .andReturn().getResponse().getContentAsString())
+                .get("commentsCursor").asText();
+
+        mvc.perform(get("/items/{itemId}/comments", itemId).param("cursor", olderCursor))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(CursorResponses.NEXT_CURSOR_HEADER))
+                .andExpect(jsonPath("$[*].text", contains("c1", "c0")));
+
+        String next = mvc.perform(get("/items/{itemId}/comments", itemId).param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].text", contains("c11", "c10", "c9", "c8", "c7")))
+                .andReturn().getResponse().getHeader(CursorResponses.NEXT_CURSOR_HEADER);
+        mvc.perform(get("/items/{itemId}/comments", itemId).param("size", "5").param("cursor", next))
+                .andExpect(jsonPath("$[*].text", contains("c6", "c5", "c4", "c3", "c2")));
+    }
+
+    @Test
+    @DisplayName("deleting a comment author takes their comments off the count")
+    void authorDeleted_countDecremented() throws Exception {
+        Instant now = Instant.now();
+        bookingRepo.save(Booking.builder()
+                .item(itemRepo.findById(itemId).orElseThrow())
+                .booker(userRepo.findById(bookerId).orElseThrow())
+                .start(now.minus(3, ChronoUnit.DAYS))
+                .end(now.minus(2, ChronoUnit.DAYS))
+                .status(BookingStatus.APPROVED)
+                .build());
+        mvc.perform(post("/items/{itemId}/comment", itemId)
+                        .header(USER_HEADER, bookerId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsBytes(new CommentCreateDto("bye"))))
+                .andExpect(status().isCreated());
+        mvc.perform(get("/items/{itemId}", itemId)).andExpect(jsonPath("$.commentCount").value(1));
+
+        mvc.perform(delete("/users/{id}", bookerId)).andExpect(status().isNoContent());
+
+        mvc.perform(get("/items/{itemId}", itemId))
+                .andExpect(jsonPath("$.commentCount").value(0))
+                .andExpect(jsonPath("$.comments", hasSize(0)));
+    }
+}
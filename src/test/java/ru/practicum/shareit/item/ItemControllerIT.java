@@ -7,9 +7,13 @@ import org.junit.jupiter.api.BeforeEach;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.common.QueryCounter;
+import ru.practicum.shareit.common.QueryCountingConfig;
+import ru.practicum.shareit.common.web.CursorResponses;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
 import ru.practicum.shareit.item.model.Item;
@@ -17,8 +21,10 @@ import ru.practicum.shareit.item.repo.ItemRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repo.UserRepository;
 
+import java.util.ArrayList;
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -26,6 +32,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @SpringBootTest
 @AutoConfigureMockMvc
 @ActiveProfiles("test")
+@Import(QueryCountingConfig.class)
 @DisplayName("ItemControllerIT")
 class ItemControllerIT {
 
@@ -35,6 +42,7 @@ class ItemControllerIT {
     @Autowired ObjectMapper om;
     @Autowired UserRepository userRepo;
     @Autowired ItemRepository itemRepo;
+    @Autowired QueryCounter queries;
 
     Long ownerId;
     Long strangerId;
@@ -108,6 +116,70 @@ class ItemControllerIT {
                 .andExpect(jsonPath("$[0].comments").exists());
     }
 
+    @Test
+    @DisplayName("GET /items — fixed statement count, the JdbcTemplate comment counts included")
+    void list_owner_items_fixedQueryCount() throws Exception {
+        var owner = userRepo.findById(ownerId).orElseThrow();
+        for (int i = 0; i < 9; i++) {
+            itemRepo.save(Item.builder().name("Extra " + i).description("x").available(true).owner(owner).build());
+        }
+        mvc.perform(get("/items").header(HDR, ownerId)).andExpect(status().isOk()); // warms the user existence cache
+
+        int count = queries.count(() ->
+                mvc.perform(get("/items").header(HDR, ownerId))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$", hasSize(10))));
+
+        // items, latest comments, comment counts, last/next bookings
+        assertThat(count).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("GET /items — without paging parameters returns every item of the owner")
+    void list_owner_items_unpaged_returnsAll() throws Exception {
+        var owner = userRepo.findById(ownerId).orElseThrow();
+        for (int i = 0; i < 24; i++) {
+            itemRepo.save(Item.builder().name("Extra " + i).description("x").available(true).owner(owner).build());
+        }
+
+        mvc.perform(get("/items").header(HDR, ownerId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(25)));
+    }
+
+    @Test
+    @DisplayName("GET /items — from/size and cursor pages walk the owner's items by id")
+    void list_owner_items_paged() throws Exception {
+        var owner = userRepo.findById(ownerId).orElseThrow();
+        for (int i = 0; i < 4; i++) {
+            itemRepo.save(Item.builder().name("Extra " + i).description("x").available(true).owner(owner).build());
+        }
+        List<Long> ids = itemRepo.findAll().stream()
+                .filter(i -> i.getOwner().getId().equals(ownerId))
+                .map(Item::getId).sorted().toList();
+        assertThat(ids).hasSize(5);
+
+        mvc.perform(get("/items").header(HDR, ownerId).param("from", "2").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", contains(ids.get(2).intValue(), ids.get(3).intValue())));
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = "";
+        int pages = 0;
+        while (cursor != null) {
+            var res = mvc.perform(get("/items").header(HDR, ownerId).param("cursor", cursor).param("size", "2"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse();
+            for (var node : om.readTree(res.getContentAsString())) {
+                seen.add(node.get("id").asLong());
+            }
+            cursor = res.getHeader(CursorResponses.NEXT_CURSOR_HEADER);
+            pages++;
+        }
+        assertThat(seen).isEqualTo(ids);
+        assertThat(pages).isEqualTo(3);
+    }
+
     @Test
     @DisplayName("PATCH /items/{id} — owner can update")
     void patch_owner_updates_200() throws Exception {
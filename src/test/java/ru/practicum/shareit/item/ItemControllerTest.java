@@ -10,10 +10,14 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.common.exception.TooManyRequestsException;
+import ru.practicum.shareit.common.paging.CursorPage;
+import ru.practicum.shareit.common.web.CursorResponses;
 import ru.practicum.shareit.common.web.UserIdArgumentResolver;
 import ru.practicum.shareit.common.web.WebConfig;
 import ru.practicum.shareit.item.controller.ItemController;
 import ru.practicum.shareit.item.dto.*;
+import ru.practicum.shareit.item.service.CommentWriter;
 import ru.practicum.shareit.item.service.ItemService;
 
 import java.time.Instant;
@@ -37,6 +41,7 @@ class ItemControllerTest {
     @Autowired ObjectMapper om;
 
     @MockBean ItemService itemService;
+    @MockBean CommentWriter commentWriter;
 
     @Test
     @DisplayName("POST /items — 201 Created")
@@ -120,7 +125,8 @@ class ItemControllerTest {
         var details = new ItemDetailsResponse(
                 5L, "Drill", "600W", true,
                 last, next,
-                List.of(new CommentResponse(10L, "Great!", 7L, "Booker", java.time.LocalDateTime.now()))
+                List.of(new CommentResponse(10L, "Great!", 7L, "Booker", java.time.LocalDateTime.now())),
+                1, null
         );
 
         Mockito.when(itemService.get(eq(1L), eq(5L))).thenReturn(details);
@@ -135,6 +141,11 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.nextBooking.bookerId").value(3))
                 .andExpect(jsonPath("$.comments", hasSize(1)))
                 .andExpect(jsonPath("$.comments[0].text").value("Great!"));
+
+        // the author's queued comments are awaited before the service (and its transaction) is entered
+        var order = Mockito.inOrder(commentWriter, itemService);
+        order.verify(commentWriter).awaitWritesOf(1L);
+        order.verify(itemService).get(1L, 5L);
     }
 
     @Test
@@ -142,7 +153,7 @@ class ItemControllerTest {
     void get_item_details_200_no_header() throws Exception {
         var details = new ItemDetailsResponse(
                 5L, "Drill", "600W", true,
-                null, null, List.of()
+                null, null, List.of(), 0, null
         );
 
         Mockito.when(itemService.get(isNull(), eq(5L))).thenReturn(details);
@@ -152,13 +163,15 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.id").value(5))
                 .andExpect(jsonPath("$.name").value("Drill"))
                 .andExpect(jsonPath("$.comments", hasSize(0)));
+
+        Mockito.verifyNoInteractions(commentWriter);
     }
 
     @Test
-    @DisplayName("GET /items — 200 OK (owner's list with details)")
+    @DisplayName("GET /items — 200 OK (owner's full list with details, no paging parameters)")
     void list_owner_items_200() throws Exception {
         var details = new ItemDetailsResponse(
-                5L, "Saw", "Hand saw", true, null, null, List.of()
+                5L, "Saw", "Hand saw", true, null, null, List.of(), 0, null
         );
 
         Mockito.when(itemService.listOwnerItems(1L)).thenReturn(List.of(details));
@@ -168,13 +181,52 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].id").value(5))
                 .andExpect(jsonPath("$[0].name").value("Saw"));
+
+        Mockito.verify(itemService, Mockito.never()).listOwnerItems(anyLong(), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("GET /items?size= — one page, from defaults to 0")
+    void list_owner_items_paged_200() throws Exception {
+        var details = new ItemDetailsResponse(5L, "Saw", "Hand saw", true, null, null, List.of(), 0, null);
+        Mockito.when(itemService.listOwnerItems(1L, 0, 5)).thenReturn(List.of(details));
+
+        mvc.perform(get("/items").header(HDR, 1).param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    @DisplayName("GET /items?cursor= — keyset page, next cursor in X-Next-Cursor")
+    void list_owner_items_cursor_200() throws Exception {
+        var details = new ItemDetailsResponse(5L, "Saw", "Hand saw", true, null, null, List.of(), 0, null);
+        Mockito.when(itemService.listOwnerItemsByCursor(1L, "", 1))
+                .thenReturn(new CursorPage<>(List.of(details), "abc"));
+
+        mvc.perform(get("/items").header(HDR, 1).param("cursor", "").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(CursorResponses.NEXT_CURSOR_HEADER, "abc"))
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    @DisplayName("GET /items/{id}/comments — keyset page, next cursor in X-Next-Cursor")
+    void list_comments_cursor_200() throws Exception {
+        var c = new CommentResponse(10L, "Great!", 7L, "Booker", java.time.LocalDateTime.now());
+        Mockito.when(itemService.listComments(5L, null, 1))
+                .thenReturn(new CursorPage<>(List.of(c), "abc"));
+
+        mvc.perform(get("/items/{id}/comments", 5).param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(CursorResponses.NEXT_CURSOR_HEADER, "abc"))
+                .andExpect(jsonPath("$[0].text").value("Great!"));
     }
 
     @Test
     @DisplayName("GET /items/search — 200 OK")
     void search_200() throws Exception {
         var r = new ItemResponse(7L, "Super Drill", "x", true);
-        Mockito.when(itemService.search("drill")).thenReturn(List.of(r));
+        Mockito.when(itemService.search("drill", 0, 20)).thenReturn(List.of(r));
 
         mvc.perform(get("/items/search").param("text", "drill"))
                 .andExpect(status().isOk())
@@ -184,6 +236,23 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$[0].available", is(true)));
     }
 
+    @Test
+    @DisplayName("GET /items/search — from/size are passed to the service")
+    void search_paged_200() throws Exception {
+        Mockito.when(itemService.search("drill", 40, 10)).thenReturn(List.of());
+
+        mvc.perform(get("/items/search").param("text", "drill").param("from", "40").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    @DisplayName("GET /items/search — 400 on non-positive size")
+    void search_badSize_400() throws Exception {
+        mvc.perform(get("/items/search").param("text", "drill").param("size", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("POST /items/{id}/comment — 201 Created")
     void add_comment_201() throws Exception {
@@ -205,6 +274,21 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.created").exists());
     }
 
+    @Test
+    @DisplayName("POST /items/{id}/comment — 429 with Retry-After when the comment queue is full")
+    void add_comment_429_queueFull() throws Exception {
+        Mockito.when(itemService.addComment(eq(7L), eq(55L), any(CommentCreateDto.class)))
+                .thenThrow(new TooManyRequestsException("too many comments queued, retry later"));
+
+        mvc.perform(post("/items/{itemId}/comment", 55)
+                        .header(HDR, 7)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsBytes(new CommentCreateDto("Great!"))))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.message").value("too many comments queued, retry later"));
+    }
+
     @Test
     @DisplayName("POST /items/{id}/comment — 400 Bad Request (DTO validation)")
     void add_comment_400_validation() throws Exception {
@@ -0,0 +1,114 @@
+package ru.practicum.shareit.item;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.dto.ItemDetailsResponse;
+import ru.practicum.shareit.item.service.ItemChangedEvent;
+import ru.practicum.shareit.item.service.ItemDetailsCache;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ItemDetailsCache: views, expiry and invalidation")
+class ItemDetailsCacheTest {
+
+    private final ItemDetailsCache cache = new ItemDetailsCache(true, 100, Duration.ofMinutes(5));
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    @DisplayName("booking change drops only the owner view, item change drops both")
+    void invalidation_isPerView() {
+        cache.get(1L, false, loader(null));
+        cache.get(1L, true, loader(null));
+
+        cache.onItemChanged(ItemChangedEvent.bookings(1L));
+        cache.get(1L, false, loader(null));
+        cache.get(1L, true, loader(null));
+        assertThat(loads.get()).isEqualTo(3);
+
+        cache.onItemChanged(ItemChangedEvent.details(1L));
+        cache.get(1L, false, loader(null));
+        cache.get(1L, true, loader(null));
+        assertThat(loads.get()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("owner view whose next booking has already started is not reused")
+    void ownerView_expiresAtNextBookingStart() {
+        cache.get(1L, true, loader(Instant.now().minusSeconds(1)));
+        cache.get(1L, true, loader(Instant.now().plusSeconds(3600)));
+        cache.get(1L, true, loader(null));
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("a load overtaken by an invalidation is returned but not cached")
+    void load_racingInvalidation_notCached() {
+        Supplier<ItemDetailsCache.Entry> racing = () -> {
+            cache.onItemChanged(ItemChangedEvent.details(1L));
+            return loader(null).get();
+        };
+
+        cache.get(1L, false, racing);
+        cache.get(1L, false, loader(null));
+        cache.get(1L, false, loader(null));
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("an invalidation of another item, or of the owner view only, does not discard a concurrent load")
+    void load_racingOtherKeyInvalidation_cached() {
+        Supplier<ItemDetailsCache.Entry> racing = () -> {
+            cache.onItemChanged(ItemChangedEvent.details(2L));
+            cache.onItemChanged(ItemChangedEvent.bookings(1L));
+            return loader(null).get();
+        };
+
+        cache.get(1L, false, racing);
+        cache.get(1L, false, loader(null));
+
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("disabled cache always calls the loader")
+    void disabled_alwaysLoads() {
+        var disabled = new ItemDetailsCache(false, 100, Duration.ofMinutes(5));
+
+        disabled.get(1L, false, loader(null));
+        disabled.get(1L, false, loader(null));
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("hits and misses are published as cache.gets")
+    void metrics_hitsAndMisses() {
+        var registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+
+        cache.get(1L, false, loader(null));
+        cache.get(1L, false, loader(null));
+
+        assertThat(registry.get("cache.gets").tag("cache", "itemDetails").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+        assertThat(registry.get("cache.gets").tag("cache", "itemDetails").tag("result", "miss")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    private Supplier<ItemDetailsCache.Entry> loader(Instant validUntil) {
+        return () -> {
+            loads.incrementAndGet();
+            return new ItemDetailsCache.Entry(7L,
+                    new ItemDetailsResponse(1L, "A", "d", true, null, null, List.of(), 0, null), validUntil);
+        };
+    }
+}
@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repo.ItemRepository;
@@ -54,14 +55,30 @@ class ItemRepositoryIT {
     @Test
     @DisplayName("searchAvailable('DRILL') -> finds only available matches by name/description (case-insensitive)")
     void searchAvailable_drill_onlyAvailable() {
-        var res = itemRepo.searchAvailable("DRILL");
+        var res = itemRepo.searchAvailable("DRILL", PageRequest.of(0, 20));
         assertThat(res).extracting(Item::getName).containsExactlyInAnyOrder("Drill");
     }
 
     @Test
     @DisplayName("searchAvailable('driver') -> finds only available matches by name/description (case-insensitive)")
     void searchAvailable_driver_onlyAvailable() {
-        var res = itemRepo.searchAvailable("driver");
+        var res = itemRepo.searchAvailable("driver", PageRequest.of(0, 20));
         assertThat(res).extracting(Item::getName).containsExactlyInAnyOrder("driver");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("searchAvailable('drill') -> name prefix first, then name, then description; paged")
+    void searchAvailable_rankedAndPaged() {
+        var owner = userRepo.findById(ownerId).orElseThrow();
+        itemRepo.saveAll(List.of(
+                Item.builder().name("Hammer").description("goes with any drill").available(true).owner(owner).build(),
+                Item.builder().name("Cordless drill").description("18V").available(true).owner(owner).build()
+        ));
+
+        var all = itemRepo.searchAvailable("drill", PageRequest.of(0, 20));
+        assertThat(all).extracting(Item::getName).containsExactly("Drill", "Cordless drill", "Hammer");
+
+        var second = itemRepo.searchAvailable("drill", PageRequest.of(1, 2));
+        assertThat(second).extracting(Item::getName).containsExactly("Hammer");
+    }
+}
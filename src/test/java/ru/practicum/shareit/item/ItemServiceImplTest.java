@@ -5,24 +5,45 @@ import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.junit.jupiter.api.extension.ExtendWith;
+import ru.practicum.shareit.common.exception.BadRequestException;
 import ru.practicum.shareit.common.exception.ForbiddenException;
 import ru.practicum.shareit.common.exception.NotFoundException;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.BookingShortDto;
+import ru.practicum.shareit.item.dto.CommentCreateDto;
+import ru.practicum.shareit.item.dto.CommentCursor;
+import ru.practicum.shareit.item.dto.CommentResponse;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.item.dto.ItemCursor;
 import ru.practicum.shareit.item.dto.ItemResponse;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
 import ru.practicum.shareit.item.dto.ItemDetailsResponse;
 import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repo.ItemRepository;
 import ru.practicum.shareit.item.repo.CommentRepository;
+import ru.practicum.shareit.booking.repo.BookingEdgeView;
 import ru.practicum.shareit.booking.repo.BookingRepository;
+import ru.practicum.shareit.booking.service.CommentEligibilityStore;
+import ru.practicum.shareit.item.service.CommentWriter;
+import ru.practicum.shareit.item.service.ItemChangedEvent;
+import ru.practicum.shareit.item.service.ItemDetailsCache;
+import ru.practicum.shareit.item.service.ItemSearchBackend;
 import ru.practicum.shareit.item.service.ItemServiceImpl;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repo.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceCache;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -35,9 +56,15 @@ class ItemServiceImplTest {
 
     @Mock ItemRepository itemRepo;
     @Mock UserRepository userRepo;
+    @Mock UserExistenceCache userExistence;
     @Mock ItemMapper mapper;
     @Mock BookingRepository bookingRepo;
+    @Mock CommentEligibilityStore eligibility;
     @Mock CommentRepository commentRepo;
+    @Mock CommentWriter commentWriter;
+    @Mock ItemSearchBackend searchBackend;
+    @Mock ApplicationEventPublisher events;
+    @Spy ItemDetailsCache detailsCache = new ItemDetailsCache(true, 100, Duration.ofMinutes(5));
 
     @InjectMocks ItemServiceImpl service;
 
@@ -85,18 +112,119 @@ class ItemServiceImplTest {
                 Item.builder().id(1L).name("A").owner(owner).available(true).build(),
                 Item.builder().id(2L).name("B").owner(owner).available(true).build()
         );
-        when(userRepo.existsById(1L)).thenReturn(true);
-        when(itemRepo.findAllByOwner_IdOrderByIdAsc(1L)).thenReturn(items);
+        when(userExistence.exists(1L)).thenReturn(true);
+        when(itemRepo.findAllByOwner_IdOrderByIdAsc(1L, PageRequest.of(0, 20))).thenReturn(items);
 
-        when(mapper.toDetails(eq(items.get(0)), isNull(), isNull(), anyList()))
-                .thenReturn(new ItemDetailsResponse(1L, "A", null, true, null, null, List.of()));
-        when(mapper.toDetails(eq(items.get(1)), isNull(), isNull(), anyList()))
-                .thenReturn(new ItemDetailsResponse(2L, "B", null, true, null, null, List.of()));
+        when(mapper.toDetails(eq(items.get(0)), isNull(BookingShortDto.class), isNull(BookingShortDto.class), anyList(), anyLong()))
+                .thenReturn(new ItemDetailsResponse(1L, "A", null, true, null, null, List.of(), 0, null));
+        when(mapper.toDetails(eq(items.get(1)), isNull(BookingShortDto.class), isNull(BookingShortDto.class), anyList(), anyLong()))
+                .thenReturn(new ItemDetailsResponse(2L, "B", null, true, null, null, List.of(), 0, null));
 
-        var resp = service.listOwnerItems(1L);
+        var resp = service.listOwnerItems(1L, 0, 20);
         assertThat(resp).extracting(ItemDetailsResponse::id).containsExactly(1L, 2L);
     }
 
+    @Test
+    @DisplayName("listOwnerItems(): last/next come from one projection query and are routed per item")
+    void listOwnerItems_lastNextFromProjection() {
+        var owner = User.builder().id(1L).build();
+        var item = Item.builder().id(1L).name("A").owner(owner).available(true).build();
+        var t = Instant.parse("2030-01-01T10:00:00Z");
+        when(userExistence.exists(1L)).thenReturn(true);
+        when(itemRepo.findAllByOwner_IdOrderByIdAsc(1L, PageRequest.of(0, 20))).thenReturn(List.of(item));
+        when(bookingRepo.findLastAndNextForItems(eq(List.of(1L)), eq("APPROVED"), any(Instant.class)))
+                .thenReturn(List.of(edge(1L, true, 10L, t), edge(1L, false, 11L, t.plusSeconds(3600))));
+        when(mapper.toDetails(eq(item), any(BookingShortDto.class), any(BookingShortDto.class), anyList(), anyLong()))
+                .thenAnswer(inv -> new ItemDetailsResponse(1L, "A", null, true,
+                        inv.getArgument(1), inv.getArgument(2), List.of(), 0, null));
+
+        var resp = service.listOwnerItems(1L, 0, 20);
+
+        assertThat(resp.get(0).lastBooking()).isEqualTo(new BookingShortDto(10L, 2L, t, t.plusSeconds(60)));
+        assertThat(resp.get(0).nextBooking().id()).isEqualTo(11L);
+    }
+
+    @Test
+    @DisplayName("listOwnerItemsByCursor(): reads size + 1 rows, enriches only the page, cursor = last id")
+    void listOwnerItemsByCursor_pageAndNextCursor() {
+        var owner = User.builder().id(1L).build();
+        var rows = List.of(
+                Item.builder().id(4L).owner(owner).available(true).build(),
+                Item.builder().id(7L).owner(owner).available(true).build(),
+                Item.builder().id(9L).owner(owner).available(true).build()
+        );
+        when(userExistence.exists(1L)).thenReturn(true);
+        when(itemRepo.findAllByOwner_IdAndIdGreaterThanOrderByIdAsc(1L, 3L, Limit.of(3))).thenReturn(rows);
+        when(mapper.toDetails(any(Item.class), isNull(BookingShortDto.class), isNull(BookingShortDto.class), anyList(), anyLong()))
+                .thenAnswer(inv -> new ItemDetailsResponse(inv.<Item>getArgument(0).getId(), null, null, true,
+                        null, null, List.of(), 0, null));
+
+        var page = service.listOwnerItemsByCursor(1L, new ItemCursor(3L).encode(), 2);
+
+        assertThat(page.items()).extracting(ItemDetailsResponse::id).containsExactly(4L, 7L);
+        assertThat(ItemCursor.decode(page.nextCursor()).id()).isEqualTo(7L);
+        verify(commentRepo).findLatestForItems(List.of(4L, 7L), 10);
+        verify(itemRepo).commentCounts(List.of(4L, 7L));
+        verify(bookingRepo).findLastAndNextForItems(eq(List.of(4L, 7L)), eq("APPROVED"), any(Instant.class));
+    }
+
+    @Test
+    @DisplayName("listComments(): newest first by keyset, cursor from the last comment of a full page")
+    void listComments_keysetPages() {
+        Instant t = Instant.parse("2030-01-01T10:00:00Z");
+        var author = User.builder().id(2L).name("Bob").build();
+        var item = Item.builder().id(10L).build();
+        var rows = List.of(
+                Comment.builder().id(9L).text("c").item(item).author(author).created(t.plusSeconds(2)).build(),
+                Comment.builder().id(8L).text("b").item(item).author(author).created(t.plusSeconds(1)).build(),
+                Comment.builder().id(7L).text("a").item(item).author(author).created(t).build());
+        when(itemRepo.findById(10L)).thenReturn(Optional.of(item));
+        when(commentRepo.findByItem_IdOrderByCreatedDescIdDesc(10L, Limit.of(3))).thenReturn(rows);
+        when(commentRepo.findByItemBefore(10L, t.plusSeconds(1), 8L, Limit.of(3))).thenReturn(rows.subList(2, 3));
+
+        var first = service.listComments(10L, null, 2);
+        assertThat(first.items()).extracting(CommentResponse::id).containsExactly(9L, 8L);
+        assertThat(CommentCursor.decode(first.nextCursor())).isEqualTo(new CommentCursor(t.plusSeconds(1), 8L));
+
+        var second = service.listComments(10L, first.nextCursor(), 2);
+        assertThat(second.items()).extracting(CommentResponse::id).containsExactly(7L);
+        assertThat(second.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("listComments(): unknown item -> 404")
+    void listComments_unknownItem_404() {
+        when(itemRepo.findById(10L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.listComments(10L, null, 20)).isInstanceOf(NotFoundException.class);
+        verifyNoInteractions(commentRepo);
+    }
+
+    @Test
+    @DisplayName("listOwnerItemsByCursor(): last page has no next cursor; bad cursor -> 400")
+    void listOwnerItemsByCursor_lastPageAndBadCursor() {
+        when(userExistence.exists(1L)).thenReturn(true);
+        when(itemRepo.findAllByOwner_IdAndIdGreaterThanOrderByIdAsc(1L, 0L, Limit.of(3))).thenReturn(List.of());
+
+        var page = service.listOwnerItemsByCursor(1L, "", 2);
+        assertThat(page.items()).isEmpty();
+        assertThat(page.nextCursor()).isNull();
+
+        assertThatThrownBy(() -> service.listOwnerItemsByCursor(1L, "%%%", 2))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    private static BookingEdgeView edge(Long itemId, boolean last, Long id, Instant start) {
+        return new BookingEdgeView() {
+            @Override public Long getItemId() { return itemId; }
+            @Override public boolean isLast() { return last; }
+            @Override public Long getId() { return id; }
+            @Override public Long getBookerId() { return 2L; }
+            @Override public Instant getStart() { return start; }
+            @Override public Instant getEnd() { return start.plusSeconds(60); }
+        };
+    }
+
     @Test
     @DisplayName("patch(): forbidden for non-owner")
     void patch_forbidden_for_non_owner() {
@@ -142,25 +270,103 @@ class ItemServiceImplTest {
         verify(itemRepo).save(cap.capture());
         assertThat(cap.getValue().getDescription()).isEqualTo("New desc");
         assertThat(cap.getValue().isAvailable()).isFalse();
+        verify(events).publishEvent(ItemChangedEvent.details(10L));
+    }
+
+    @Test
+    @DisplayName("get(): public view is served from cache for every non-owner")
+    void get_publicView_cached() {
+        var owner = User.builder().id(1L).build();
+        var item = Item.builder().id(10L).name("A").available(true).owner(owner).build();
+        var details = new ItemDetailsResponse(10L, "A", null, true, null, null, List.of(), 0, null);
+        when(itemRepo.findById(10L)).thenReturn(Optional.of(item));
+        when(commentRepo.findByItem_IdOrderByCreatedDescIdDesc(10L, Limit.of(10))).thenReturn(List.of());
+        when(mapper.toDetails(eq(item), isNull(Booking.class), isNull(Booking.class), anyList(), anyLong())).thenReturn(details);
+
+        assertThat(service.get(2L, 10L)).isSameAs(details);
+        assertThat(service.get(3L, 10L)).isSameAs(details);
+        assertThat(service.get(null, 10L)).isSameAs(details);
+
+        verify(itemRepo, times(1)).findById(10L);
+        verifyNoInteractions(bookingRepo);
+    }
+
+    @Test
+    @DisplayName("get(): owner gets a separate view with bookings; invalidation reloads it")
+    void get_ownerView_separateAndInvalidated() {
+        var owner = User.builder().id(1L).build();
+        var item = Item.builder().id(10L).name("A").available(true).owner(owner).build();
+        var publicView = new ItemDetailsResponse(10L, "A", null, true, null, null, List.of(), 0, null);
+        var ownerView = new ItemDetailsResponse(10L, "A", null, true, null, null, List.of(), 0, null);
+        when(itemRepo.findById(10L)).thenReturn(Optional.of(item));
+        when(commentRepo.findByItem_IdOrderByCreatedDescIdDesc(10L, Limit.of(10))).thenReturn(List.of());
+        when(bookingRepo.findTopByItem_IdAndStatusAndStartBeforeOrderByStartDesc(eq(10L), any(), any()))
+                .thenReturn(Optional.empty());
+        when(bookingRepo.findTopByItem_IdAndStatusAndStartAfterOrderByStartAsc(eq(10L), any(), any()))
+                .thenReturn(Optional.empty());
+        when(mapper.toDetails(eq(item), isNull(Booking.class), isNull(Booking.class), anyList(), anyLong())).thenReturn(publicView, ownerView);
+
+        assertThat(service.get(2L, 10L)).isSameAs(publicView);
+        assertThat(service.get(1L, 10L)).isSameAs(ownerView);
+        assertThat(service.get(1L, 10L)).isSameAs(ownerView);
+        verify(bookingRepo, times(1)).findTopByItem_IdAndStatusAndStartAfterOrderByStartAsc(eq(10L), any(), any());
+
+        detailsCache.onItemChanged(ItemChangedEvent.bookings(10L));
+
+        assertThat(service.get(2L, 10L)).isSameAs(publicView);
+        service.get(1L, 10L);
+        verify(bookingRepo, times(2)).findTopByItem_IdAndStatusAndStartAfterOrderByStartAsc(eq(10L), any(), any());
+    }
+
+    @Test
+    @DisplayName("addComment(): eligible author -> trimmed comment handed to the comment writer")
+    void addComment_eligible_written() {
+        var author = User.builder().id(2L).name("Bob").build();
+        var item = Item.builder().id(10L).name("A").available(true).build();
+        var response = new CommentResponse(1L, "Nice", 2L, "Bob", null);
+        when(userRepo.findById(2L)).thenReturn(Optional.of(author));
+        when(itemRepo.findById(10L)).thenReturn(Optional.of(item));
+        when(eligibility.canComment(eq(2L), eq(10L), any(Instant.class))).thenReturn(true);
+        when(commentWriter.write(any(Comment.class))).thenReturn(response);
+
+        assertThat(service.addComment(2L, 10L, new CommentCreateDto(" Nice "))).isSameAs(response);
+
+        ArgumentCaptor<Comment> cap = ArgumentCaptor.forClass(Comment.class);
+        verify(commentWriter).write(cap.capture());
+        assertThat(cap.getValue().getText()).isEqualTo("Nice");
+        assertThat(cap.getValue().getItem()).isSameAs(item);
+        assertThat(cap.getValue().getAuthor()).isSameAs(author);
+    }
+
+    @Test
+    @DisplayName("addComment(): not eligible -> 400, nothing written")
+    void addComment_notEligible_badRequest() {
+        when(userRepo.findById(2L)).thenReturn(Optional.of(User.builder().id(2L).build()));
+        when(itemRepo.findById(10L)).thenReturn(Optional.of(Item.builder().id(10L).build()));
+        when(eligibility.canComment(eq(2L), eq(10L), any(Instant.class))).thenReturn(false);
+
+        assertThatThrownBy(() -> service.addComment(2L, 10L, new CommentCreateDto("Nice")))
+                .isInstanceOf(BadRequestException.class);
+        verifyNoInteractions(commentWriter);
     }
 
     @Test
     @DisplayName("search(): null or blank -> empty list")
     void search_null_or_blank_returns_empty() {
-        assertThat(service.search(null)).isEmpty();
-        assertThat(service.search("   ")).isEmpty();
-        verifyNoInteractions(itemRepo, mapper);
+        assertThat(service.search(null, 0, 20)).isEmpty();
+        assertThat(service.search("   ", 0, 20)).isEmpty();
+        verifyNoInteractions(itemRepo, searchBackend, mapper);
     }
 
     @Test
-    @DisplayName("search(): non-blank -> delegates to repository and maps")
+    @DisplayName("search(): non-blank -> delegates trimmed text and page to the search backend and maps")
     void search_non_blank_delegates() {
-        when(itemRepo.searchAvailable("drill")).thenReturn(List.of(
+        when(searchBackend.search("drill", PageRequest.of(2, 5))).thenReturn(List.of(
                 Item.builder().id(1L).name("Drill").available(true).build()
         ));
         when(mapper.toResponse(any(Item.class))).thenReturn(new ItemResponse(1L, "Drill", null, true));
 
-        var out = service.search("drill");
+        var out = service.search("  drill ", 10, 5);
         assertThat(out).hasSize(1);
         assertThat(out.get(0).name()).isEqualTo("Drill");
     }
@@ -0,0 +1,124 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repo.BookingRepository;
+import ru.practicum.shareit.item.dto.CommentCreateDto;
+import ru.practicum.shareit.item.dto.CommentResponse;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repo.CommentRepository;
+import ru.practicum.shareit.item.repo.ItemRepository;
+import ru.practicum.shareit.item.service.CommentWriter;
+import ru.practicum.shareit.item.service.QueuedCommentWriter;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repo.UserRepository;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "shareit.item.comment-writes=queued")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Comments: queued writes")
+class QueuedCommentIT {
+
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    @Autowired MockMvc mvc;
+    @Autowired ObjectMapper om;
+    @Autowired UserRepository userRepo;
+    @Autowired ItemRepository itemRepo;
+    @Autowired BookingRepository bookingRepo;
+    @Autowired CommentRepository commentRepo;
+    @Autowired CommentWriter writer;
+
+    Long bookerId;
+    Long itemId;
+
+    @BeforeEach
+    void setUp() {
+        User owner = userRepo.save(User.builder().name("Owner").email("o+" + System.nanoTime() + "@ex.com").build());
+        User booker = userRepo.save(User.builder().name("Booker").email("b+" + System.nanoTime() + "@ex.com").build());
+        Item item = itemRepo.save(Item.builder().name("Drill").description("600W").available(true).owner(owner).build());
+        Instant now = Instant.now();
+        bookingRepo.save(Booking.builder().item(item).booker(booker)
+                .start(now.minus(3, ChronoUnit.DAYS)).end(now.minus(2, ChronoUnit.DAYS))
+                .status(BookingStatus.APPROVED).build());
+        bookerId = booker.getId();
+        itemId = item.getId();
+    }
+
+    private CommentResponse comment(String text) throws Exception {
+        String json = mvc.perform(post("/items/{itemId}/comment", itemId)
+                        .header(USER_HEADER, bookerId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsBytes(new CommentCreateDto(text))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return om.readValue(json, CommentResponse.class);
+    }
+
+    @Test
+    @DisplayName("the queued writer is active")
+    void queuedWriterSelected() {
+        assertThat(writer).isInstanceOf(QueuedCommentWriter.class);
+    }
+
+    @Test
+    @DisplayName("POST answers with id and created; the author's next read sees the comment")
+    void post_thenAuthorReads_ownComment() throws Exception {
+        CommentResponse created = comment("Great tool!");
+        assertThat(created.id()).isNotNull();
+        assertThat(created.created()).isNotNull();
+
+        mvc.perform(get("/items/{itemId}", itemId).header(USER_HEADER, bookerId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.comments", hasSize(1)))
+                .andExpect(jsonPath("$.comments[0].id").value(created.id()))
+                .andExpect(jsonPath("$.comments[0].text").value("Great tool!"));
+
+        Comment stored = commentRepo.findById(created.id()).orElseThrow();
+        assertThat(stored.getText()).isEqualTo("Great tool!");
+    }
+
+    @Test
+    @DisplayName("a burst is stored in order with the ids and times returned to the clients")
+    void burst_storedWithReturnedIds() throws Exception {
+        List<CommentResponse> responses = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            responses.add(comment("comment " + i));
+        }
+        writer.awaitWritesOf(bookerId);
+
+        List<Comment> stored = new ArrayList<>(commentRepo.findByItem_IdOrderByCreatedDescIdDesc(itemId, Limit.unlimited()));
+        Collections.reverse(stored);
+        assertThat(stored).extracting(Comment::getId)
+                .containsExactlyElementsOf(responses.stream().map(CommentResponse::id).toList());
+        assertThat(stored).extracting(Comment::getText)
+                .containsExactlyElementsOf(responses.stream().map(CommentResponse::text).toList());
+        assertThat(stored.get(0).getCreated().truncatedTo(ChronoUnit.MILLIS))
+                .isEqualTo(responses.get(0).created().toInstant(ZoneOffset.UTC).truncatedTo(ChronoUnit.MILLIS));
+    }
+}
@@ -0,0 +1,248 @@
+package ru.practicum.shareit.item;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.common.exception.TooManyRequestsException;
+import ru.practicum.shareit.item.dto.CommentResponse;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repo.ItemRepository;
+import ru.practicum.shareit.item.service.ItemChangedEvent;
+import ru.practicum.shareit.item.service.QueuedCommentWriter;
+import ru.practicum.shareit.user.model.User;
+
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("QueuedCommentWriter")
+class QueuedCommentWriterTest {
+
+    private final JdbcTemplate jdbc = mock(JdbcTemplate.class);
+    private final ItemRepository itemRepo = mock(ItemRepository.class);
+    private final TransactionTemplate tx = mock(TransactionTemplate.class);
+    private final ApplicationEventPublisher events = mock(ApplicationEventPublisher.class);
+    /** Item ids of the rows passed to each batchUpdate call. */
+    private final List<List<Long>> insertedItemIds = new CopyOnWriteArrayList<>();
+    /** Number of next batchUpdate calls that fail as if the connection was lost. */
+    private final AtomicInteger connectionFailures = new AtomicInteger();
+
+    private QueuedCommentWriter writer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(jdbc.queryForObject(anyString(), eq(Long.class))).thenReturn(1L, 51L);
+        doAnswer(inv -> {
+            inv.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(tx).executeWithoutResult(any());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        writer.stop();
+    }
+
+    private void newWriter(int capacity) {
+        writer = new QueuedCommentWriter(jdbc, itemRepo, tx, events, capacity, 100, Duration.ofSeconds(5));
+    }
+
+    /** Records the batches; a row of item {@code badItemId} fails the whole statement. */
+    @SuppressWarnings("unchecked")
+    private void recordInserts(long badItemId) {
+        doAnswer(inv -> {
+            if (connectionFailures.getAndDecrement() > 0) {
+                throw new DataAccessResourceFailureException("connection reset");
+            }
+            Collection<Object> rows = inv.getArgument(1);
+            ParameterizedPreparedStatementSetter<Object> setter = inv.getArgument(3);
+            List<Long> itemIds = new ArrayList<>();
+            PreparedStatement ps = mock(PreparedStatement.class);
+            doAnswer(set -> itemIds.add(set.getArgument(1))).when(ps).setLong(eq(3), anyLong());
+            for (Object row : rows) {
+                setter.setValues(ps, row);
+            }
+            if (itemIds.contains(badItemId)) {
+                throw new DataIntegrityViolationException("fk_comment_item");
+            }
+            insertedItemIds.add(itemIds);
+            return new int[0][];
+        }).when(jdbc).batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    private static Comment comment(long itemId, long authorId) {
+        return Comment.builder().text("t")
+                .item(Item.builder().id(itemId).build())
+                .author(User.builder().id(authorId).name("A" + authorId).build())
+                .build();
+    }
+
+    @Test
+    @DisplayName("ids come from comments_seq in blocks of 50, so the response carries them")
+    void ids_allocatedInSequenceBlocks() {
+        newWriter(100);
+
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 51; i++) {
+            CommentResponse r = writer.write(comment(1, 2));
+            ids.add(r.id());
+            assertThat(r.created()).isNotNull();
+        }
+
+        assertThat(ids.subList(0, 50)).containsExactlyElementsOf(
+                LongStream.rangeClosed(1, 50).boxed().toList());
+        assertThat(ids.get(50)).isEqualTo(51L);
+        verify(jdbc, times(2)).queryForObject(anyString(), eq(Long.class));
+    }
+
+    @Test
+    @DisplayName("a caller waiting for a new id block holds no lock: other callers are not stalled by it")
+    void idBlockFetch_doesNotBlockOtherWriters() throws Exception {
+        CountDownLatch inFetch = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(jdbc.queryForObject(anyString(), eq(Long.class))).thenReturn(1L).thenAnswer(inv -> {
+            inFetch.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return 51L;
+        }).thenReturn(101L);
+        newWriter(100);
+        for (int i = 0; i < 50; i++) {
+            writer.write(comment(1, 2));
+        }
+
+        CompletableFuture<CommentResponse> slow = CompletableFuture.supplyAsync(() -> writer.write(comment(1, 3)));
+        assertThat(inFetch.await(5, TimeUnit.SECONDS)).isTrue();
+        CommentResponse fast = CompletableFuture.supplyAsync(() -> writer.write(comment(1, 4)))
+                .get(2, TimeUnit.SECONDS);
+        release.countDown();
+
+        assertThat(fast.id()).isEqualTo(101L);
+        assertThat(slow.get(5, TimeUnit.SECONDS).id()).isEqualTo(51L);
+    }
+
+    @Test
+    @DisplayName("full queue -> TooManyRequestsException (429), nothing queued")
+    void fullQueue_rejected() {
+        newWriter(2);
+        writer.write(comment(1, 2));
+        writer.write(comment(1, 3));
+
+        assertThatThrownBy(() -> writer.write(comment(1, 4))).isInstanceOf(TooManyRequestsException.class);
+    }
+
+    @Test
+    @DisplayName("queued comments are flushed in batches; the author's wait returns after the flush")
+    void flush_batchesAndReleasesAuthor() throws Exception {
+        recordInserts(-1);
+        newWriter(100);
+        for (int i = 0; i < 5; i++) {
+            writer.write(comment(1 + i % 2, 2));
+        }
+
+        writer.start();
+        writer.awaitWritesOf(2L);
+
+        assertThat(insertedItemIds.stream().mapToInt(List::size).sum()).isEqualTo(5);
+        assertThat(insertedItemIds.get(0)).hasSize(5);
+        verify(itemRepo).addComments(Map.of(1L, 3, 2L, 2));
+        verify(events).publishEvent(ItemChangedEvent.details(1L));
+        verify(events).publishEvent(ItemChangedEvent.details(2L));
+    }
+
+    @Test
+    @DisplayName("a failing row is dropped; the rest of its batch is written row by row")
+    void failingRow_dropped_restWritten() throws Exception {
+        recordInserts(99);
+        newWriter(100);
+        writer.write(comment(1, 2));
+        writer.write(comment(99, 2));
+        writer.write(comment(3, 2));
+
+        writer.start();
+        writer.awaitWritesOf(2L);
+
+        assertThat(insertedItemIds).containsExactly(List.of(1L), List.of(3L));
+        verify(itemRepo).addComments(Map.of(1L, 1));
+        verify(itemRepo).addComments(Map.of(3L, 1));
+    }
+
+    @Test
+    @DisplayName("no transaction (pool exhausted, DB down) -> the batch is kept and retried, nothing dropped")
+    void noTransaction_retried() throws Exception {
+        recordInserts(-1);
+        doThrow(new CannotCreateTransactionException("no connection"))
+                .doAnswer(inv -> {
+                    inv.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+                    return null;
+                }).when(tx).executeWithoutResult(any());
+        var registry = new SimpleMeterRegistry();
+        newWriter(100);
+        writer.bindTo(registry);
+        writer.write(comment(1, 2));
+        writer.write(comment(3, 2));
+
+        writer.start();
+        writer.awaitWritesOf(2L);
+
+        assertThat(insertedItemIds).containsExactly(List.of(1L, 3L));
+        assertThat(registry.get("shareit.comments.retries").functionCounter().count()).isEqualTo(1.0);
+        assertThat(registry.get("shareit.comments.dropped").functionCounter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("a lost connection is not a bad row: the batch is retried, not dropped row by row")
+    void connectionFailure_retriedNotDropped() throws Exception {
+        recordInserts(-1);
+        connectionFailures.set(2);
+        newWriter(100);
+        writer.write(comment(1, 2));
+        writer.write(comment(3, 2));
+
+        writer.start();
+        writer.awaitWritesOf(2L);
+
+        assertThat(insertedItemIds).containsExactly(List.of(1L, 3L));
+        verify(itemRepo).addComments(Map.of(1L, 1, 3L, 1));
+    }
+
+    @Test
+    @DisplayName("stop() writes what is still queued")
+    void stop_drainsQueue() throws Exception {
+        recordInserts(-1);
+        newWriter(100);
+        writer.write(comment(1, 2));
+        writer.start();
+
+        writer.stop();
+
+        assertThat(insertedItemIds).containsExactly(List.of(1L));
+        assertThatThrownBy(() -> writer.write(comment(1, 2))).isInstanceOf(TooManyRequestsException.class);
+    }
+}
@@ -5,9 +5,14 @@ import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.common.QueryCounter;
+import ru.practicum.shareit.common.QueryCountingConfig;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repo.ItemRepository;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repo.ItemRequestRepository;
@@ -16,6 +21,8 @@ import ru.practicum.shareit.user.repo.UserRepository;
 
 import java.time.Instant;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.everyItem;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -25,6 +32,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @SpringBootTest
 @AutoConfigureMockMvc
 @ActiveProfiles("test")
+@Import(QueryCountingConfig.class)
 @DisplayName("ItemRequestControllerIT")
 class ItemRequestControllerIT {
 
@@ -34,6 +42,8 @@ class ItemRequestControllerIT {
     @Autowired ObjectMapper om;
     @Autowired UserRepository userRepo;
     @Autowired ItemRequestRepository reqRepo;
+    @Autowired ItemRepository itemRepo;
+    @Autowired QueryCounter queries;
 
     Long u1;
     Long u2;
@@ -119,6 +129,26 @@ class ItemRequestControllerIT {
                 .andExpect(jsonPath("$", hasSize(1)));
     }
 
+    @Test
+    @DisplayName("GET /requests/all — items of the whole page are loaded with one query")
+    void list_all_itemsBatched() throws Exception {
+        var b = userRepo.findById(u2).orElseThrow();
+        for (int i = 0; i < 10; i++) {
+            var r = reqRepo.save(ItemRequest.builder().description("r" + i).requestor(b).build());
+            itemRepo.save(Item.builder().name("answer" + i).description("d").available(true)
+                    .owner(b).request(r).build());
+        }
+
+        int count = queries.count(() ->
+                mvc.perform(get("/requests/all").header(HDR, u1).param("from", "0").param("size", "10"))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$", hasSize(10)))
+                        .andExpect(jsonPath("$[*].items", everyItem(hasSize(1)))));
+
+        // user exists + page of requests + items of the page
+        assertThat(count).isEqualTo(3);
+    }
+
     @Test
     @DisplayName("GET /requests/{id} — 200 OK for existing")
     void get_by_id_ok() throws Exception {
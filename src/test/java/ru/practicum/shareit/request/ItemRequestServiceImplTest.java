@@ -18,6 +18,7 @@ import ru.practicum.shareit.request.repo.ItemRequestRepository;
 import ru.practicum.shareit.request.service.ItemRequestServiceImpl;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repo.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceCache;
 
 import java.time.Instant;
 import java.util.List;
@@ -34,6 +35,7 @@ class ItemRequestServiceImplTest {
     @Mock ItemRequestRepository reqRepo;
     @Mock ItemRepository itemRepo;
     @Mock UserRepository userRepo;
+    @Mock UserExistenceCache userExistence;
     @Mock ItemRequestMapper mapper;
 
     @InjectMocks ItemRequestServiceImpl service;
@@ -82,13 +84,13 @@ class ItemRequestServiceImplTest {
     @Test
     @DisplayName("findOwn(): checks user existence, loads items, maps")
     void findOwn_ok() {
-        when(userRepo.existsById(1L)).thenReturn(true);
+        when(userExistence.exists(1L)).thenReturn(true);
 
         var req1 = ItemRequest.builder().id(100L).build();
         when(reqRepo.findByRequestor_IdOrderByCreatedDesc(1L)).thenReturn(List.of(req1));
 
-        when(itemRepo.findAllByRequest_IdOrderByIdAsc(100L)).thenReturn(List.of(
-                Item.builder().id(5L).name("Drill").available(true).build()
+        when(itemRepo.findAllByRequest_IdInOrderByIdAsc(List.of(100L))).thenReturn(List.of(
+                Item.builder().id(5L).name("Drill").available(true).request(req1).build()
         ));
 
         when(mapper.toResponse(eq(req1), anyList()))
@@ -104,13 +106,13 @@ class ItemRequestServiceImplTest {
     @Test
     @DisplayName("findAllExceptUser(): excludes userId, paginates, maps")
     void findAllExceptUser_ok() {
-        when(userRepo.existsById(1L)).thenReturn(true);
+        when(userExistence.exists(1L)).thenReturn(true);
 
         var req2 = ItemRequest.builder().id(200L).build();
         when(reqRepo.findByRequestor_IdNotOrderByCreatedDesc(eq(1L), any(PageRequest.class)))
                 .thenReturn(List.of(req2));
 
-        when(itemRepo.findAllByRequest_IdOrderByIdAsc(200L)).thenReturn(List.of());
+        when(itemRepo.findAllByRequest_IdInOrderByIdAsc(List.of(200L))).thenReturn(List.of());
 
         when(mapper.toResponse(eq(req2), anyList()))
                 .thenAnswer(inv -> new ItemRequestResponse(
@@ -121,10 +123,42 @@ class ItemRequestServiceImplTest {
         assertThat(out).hasSize(1);
     }
 
+    @Test
+    @DisplayName("findAllExceptUser(): items of all requests come from one batched query, grouped per request")
+    void findAllExceptUser_batchesItems() {
+        when(userExistence.exists(1L)).thenReturn(true);
+
+        var r1 = ItemRequest.builder().id(1L).build();
+        var r2 = ItemRequest.builder().id(2L).build();
+        var r3 = ItemRequest.builder().id(3L).build();
+        when(reqRepo.findByRequestor_IdNotOrderByCreatedDesc(eq(1L), any(PageRequest.class)))
+                .thenReturn(List.of(r1, r2, r3));
+        when(itemRepo.findAllByRequest_IdInOrderByIdAsc(List.of(1L, 2L, 3L))).thenReturn(List.of(
+                Item.builder().id(10L).request(r1).build(),
+                Item.builder().id(11L).request(r3).build(),
+                Item.builder().id(12L).request(r1).build()
+        ));
+        when(mapper.toResponse(any(ItemRequest.class), anyList()))
+                .thenAnswer(inv -> new ItemRequestResponse(
+                        inv.<ItemRequest>getArgument(0).getId(), null, null, null,
+                        inv.<List<Item>>getArgument(1).stream()
+                                .map(i -> new ItemRequestResponse.ItemShortDto(i.getId(), null, null, true, null))
+                                .toList())
+                );
+
+        var out = service.findAllExceptUser(1L, 0, 10);
+
+        assertThat(out).extracting(ItemRequestResponse::id).containsExactly(1L, 2L, 3L);
+        assertThat(out.get(0).items()).extracting(ItemRequestResponse.ItemShortDto::id).containsExactly(10L, 12L);
+        assertThat(out.get(1).items()).isEmpty();
+        assertThat(out.get(2).items()).extracting(ItemRequestResponse.ItemShortDto::id).containsExactly(11L);
+        verify(itemRepo, never()).findAllByRequest_IdOrderByIdAsc(any());
+    }
+
     @Test
     @DisplayName("getById(): 404 when request not found")
     void getById_not_found() {
-        when(userRepo.existsById(1L)).thenReturn(true);
+        when(userExistence.exists(1L)).thenReturn(true);
         when(reqRepo.findById(999L)).thenReturn(Optional.empty());
         assertThatThrownBy(() -> service.getById(1L, 999L)).isInstanceOf(NotFoundException.class);
     }
@@ -132,7 +166,7 @@ class ItemRequestServiceImplTest {
     @Test
     @DisplayName("getById(): OK — loads items and maps")
     void getById_ok() {
-        when(userRepo.existsById(1L)).thenReturn(true);
+        when(userExistence.exists(1L)).thenReturn(true);
 
         var req = ItemRequest.builder().id(10L).build();
         when(reqRepo.findById(10L)).thenReturn(Optional.of(req));
@@ -11,8 +11,13 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.user.dto.UserCreateDto;
+import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repo.UserRepository;
 
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -84,6 +89,41 @@ class UserControllerIT {
                 .andExpect(jsonPath("$", hasSize(1)));
     }
 
+    @Test
+    @DisplayName("GET /users?from&size — page ordered by id; 400 on bad size")
+    void list_paged_200() throws Exception {
+        for (String name : new String[]{"Ann", "Bob", "Cid"}) {
+            repo.save(User.builder().name(name).email(name + "@ex.com").build());
+        }
+
+        mvc.perform(get("/users").param("from", "2").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].name", contains("Cid")));
+
+        mvc.perform(get("/users").param("size", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /users/export — NDJSON, one user per line ordered by id")
+    void export_ndjson() throws Exception {
+        for (String name : new String[]{"Ann", "Bob", "Cid"}) {
+            repo.save(User.builder().name(name).email(name + "@ex.com").build());
+        }
+
+        var async = mvc.perform(get("/users/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mvc.perform(asyncDispatch(async))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        List<String> lines = body.lines().toList();
+        assertThat(lines).hasSize(3);
+        assertThat(lines).extracting(l -> om.readTree(l).get("name").asText()).containsExactly("Ann", "Bob", "Cid");
+    }
+
     @Test
     @DisplayName("PATCH /users/{id} — 200 OK updates fields")
     void patch_200() throws Exception {
@@ -16,6 +16,7 @@ import ru.practicum.shareit.user.dto.UserUpdateDto;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.*;
@@ -88,6 +89,43 @@ class UserControllerTest {
                 .andExpect(jsonPath("$[0].name").value("Ann"));
     }
 
+    @Test
+    @DisplayName("GET /users?size — page with default from=0")
+    void list_paged_200() throws Exception {
+        Mockito.when(userService.list(0, 2)).thenReturn(List.of(
+                new UserResponse(1L, "Ann", "a@ex.com"),
+                new UserResponse(2L, "Bob", "b@ex.com")
+        ));
+
+        mvc.perform(get("/users").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)));
+
+        Mockito.verify(userService, Mockito.never()).list();
+    }
+
+    @Test
+    @DisplayName("GET /users/export — NDJSON stream")
+    void export_ndjson() throws Exception {
+        Mockito.doAnswer(inv -> {
+            Consumer<UserResponse> sink = inv.getArgument(0);
+            sink.accept(new UserResponse(1L, "Ann", "a@ex.com"));
+            sink.accept(new UserResponse(2L, "Bob", "b@ex.com"));
+            return null;
+        }).when(userService).export(any());
+
+        var async = mvc.perform(get("/users/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(async))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(
+                        "{\"id\":1,\"name\":\"Ann\",\"email\":\"a@ex.com\"}\n"
+                                + "{\"id\":2,\"name\":\"Bob\",\"email\":\"b@ex.com\"}\n"));
+    }
+
     @Test
     @DisplayName("PATCH /users/{id} — 200 OK")
     void patch_200() throws Exception {
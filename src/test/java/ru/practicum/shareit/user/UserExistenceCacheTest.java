@@ -0,0 +1,73 @@
+package ru.practicum.shareit.user;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.user.repo.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceCache;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@DisplayName("UserExistenceCache: hits cached, misses and evicted users re-checked")
+class UserExistenceCacheTest {
+
+    private final UserRepository repo = mock(UserRepository.class);
+    private final UserExistenceCache cache = new UserExistenceCache(repo, true, 100, Duration.ofMinutes(10));
+
+    @Test
+    @DisplayName("existing user is looked up once")
+    void hit_cached() {
+        when(repo.existsById(1L)).thenReturn(true);
+
+        assertThat(cache.exists(1L)).isTrue();
+        assertThat(cache.exists(1L)).isTrue();
+
+        verify(repo, times(1)).existsById(1L);
+    }
+
+    @Test
+    @DisplayName("unknown user is not cached: a user created later is seen at once")
+    void miss_notCached() {
+        when(repo.existsById(2L)).thenReturn(false, true);
+
+        assertThat(cache.exists(2L)).isFalse();
+        assertThat(cache.exists(2L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("evicted user goes back to the DB")
+    void evict_rechecks() {
+        when(repo.existsById(3L)).thenReturn(true, false);
+        cache.exists(3L);
+
+        cache.evictAfterCommit(3L);
+
+        assertThat(cache.exists(3L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("a load overtaken by an eviction is returned but not cached")
+    void load_racingEviction_notCached() {
+        when(repo.existsById(4L)).thenAnswer(inv -> {
+            cache.evictAfterCommit(4L);
+            return true;
+        }).thenReturn(false);
+
+        assertThat(cache.exists(4L)).isTrue();
+        assertThat(cache.exists(4L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("disabled: every check hits the DB")
+    void disabled_passThrough() {
+        var off = new UserExistenceCache(repo, false, 100, Duration.ofMinutes(10));
+        when(repo.existsById(5L)).thenReturn(true);
+
+        off.exists(5L);
+        off.exists(5L);
+
+        verify(repo, times(2)).existsById(5L);
+    }
+}
@@ -1,22 +1,35 @@
 package ru.practicum.shareit.user;
 
+import jakarta.persistence.EntityManager;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.junit.jupiter.api.extension.ExtendWith;
+import ru.practicum.shareit.booking.service.BookingOverlapIndex;
 import ru.practicum.shareit.common.exception.ConflictException;
 import ru.practicum.shareit.common.exception.NotFoundException;
+import ru.practicum.shareit.item.repo.ItemRepository;
+import ru.practicum.shareit.item.service.ItemChangedEvent;
 import ru.practicum.shareit.user.dto.UserCreateDto;
 import ru.practicum.shareit.user.dto.UserResponse;
 import ru.practicum.shareit.user.dto.UserUpdateDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repo.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceCache;
 import ru.practicum.shareit.user.service.UserServiceImpl;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
@@ -28,7 +41,12 @@ import static org.mockito.Mockito.*;
 class UserServiceImplTest {
 
     @Mock private UserRepository repo;
+    @Mock private ItemRepository itemRepo;
     @Mock private UserMapper mapper;
+    @Mock private EntityManager entityManager;
+    @Mock private UserExistenceCache existence;
+    @Mock private ApplicationEventPublisher events;
+    @Mock private BookingOverlapIndex overlapIndex;
 
     @InjectMocks private UserServiceImpl service;
 
@@ -73,6 +91,35 @@ class UserServiceImplTest {
         assertThat(out).extracting(UserResponse::id).containsExactly(1L, 2L);
     }
 
+    @Test
+    @DisplayName("list(from, size): страница по id")
+    void list_paged() {
+        User u3 = User.builder().id(3L).name("C").email("c@ex.com").build();
+        when(repo.findAll(PageRequest.of(1, 2, Sort.by("id")))).thenReturn(new PageImpl<>(List.of(u3)));
+        when(mapper.toResponse(u3)).thenReturn(new UserResponse(3L, "C", "c@ex.com"));
+
+        assertThat(service.list(2, 2)).extracting(UserResponse::id).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("export(): отдаёт всех из потока, отсоединяет сущности и закрывает поток")
+    void export_streamsAndDetaches() {
+        User u1 = User.builder().id(1L).name("A").email("a@ex.com").build();
+        User u2 = User.builder().id(2L).name("B").email("b@ex.com").build();
+        var closed = new AtomicBoolean();
+        when(repo.streamAllByOrderById()).thenReturn(Stream.of(u1, u2).onClose(() -> closed.set(true)));
+        when(mapper.toResponse(any(User.class)))
+                .thenAnswer(inv -> new UserResponse(inv.<User>getArgument(0).getId(), null, null));
+
+        List<UserResponse> sink = new ArrayList<>();
+        service.export(sink::add);
+
+        assertThat(sink).extracting(UserResponse::id).containsExactly(1L, 2L);
+        verify(entityManager).detach(u1);
+        verify(entityManager).detach(u2);
+        assertThat(closed).isTrue();
+    }
+
     @Test
     @DisplayName("patch(): 404 если не найден; конфликт при смене email на занятый")
     void patch_404_and_conflict() {
@@ -116,8 +163,15 @@ class UserServiceImplTest {
     @DisplayName("delete(): OK когда существует")
     void delete_ok() {
         when(repo.existsById(10L)).thenReturn(true);
+        when(itemRepo.subtractCommentsOf(10L)).thenReturn(List.of(3L));
         service.delete(10L);
-        verify(repo).deleteById(10L);
+        InOrder order = inOrder(itemRepo, overlapIndex, repo);
+        order.verify(itemRepo).subtractCommentsOf(10L);
+        order.verify(overlapIndex).untrackBooker(10L);
+        order.verify(itemRepo).deleteAllByOwnerId(10L);
+        order.verify(repo).deleteById(10L);
+        verify(existence).evictAfterCommit(10L);
+        verify(events).publishEvent(ItemChangedEvent.details(3L));
     }
 
     @Test